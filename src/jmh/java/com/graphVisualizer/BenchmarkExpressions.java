@@ -0,0 +1,28 @@
+package com.graphVisualizer;
+
+import java.util.List;
+
+/**
+ * The expressions the benchmarks are parameterized by: the ones of {@code data/data.txt}, the graphs saved with the
+ * repository, in the same order.
+ * <p>
+ * JMH reads its parameters from annotations, which cannot read a file, so every benchmark lists these constants in
+ * its {@code @Param} instead. {@code BenchmarkExpressionsTest} fails when they no longer match the file, or when a
+ * benchmark lists anything else.
+ */
+public final class BenchmarkExpressions {
+
+    public static final String LINEAR = "x+1";
+    public static final String RATIONAL = "3*x^2*(x+2)/(64-2*x)";
+    public static final String INVERSE_SINE = "1/sin(x^2)";
+    public static final String TANGENT_RATIO = "tan(x)/atan(x)";
+    public static final String HYPERBOLIC = "abs(atan(x)*cosh(x^3))/e^x/(x^3*sinh(x))";
+
+    /**
+     * Every expression, in the order of {@code data/data.txt}.
+     */
+    public static final List<String> ALL = List.of(LINEAR, RATIONAL, INVERSE_SINE, TANGENT_RATIO, HYPERBOLIC);
+
+    private BenchmarkExpressions() {
+    }
+}
@@ -0,0 +1,277 @@
+package com.graphVisualizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a JMH run with a baseline, and fails when a benchmark regressed.
+ * <p>
+ * A benchmark is identified by its name and the values of its parameters. It regressed if its throughput fell
+ * by more than {@code throughputThreshold} of the baseline beyond the noise of both runs: if the upper bound of
+ * its confidence interval is below the lower bound of the interval of the baseline, less the threshold. A single
+ * run on a busy machine varies by more than the threshold, so comparing the scores alone would fail at random.
+ * It also regressed if the bytes it allocates per operation, as
+ * measured by the {@code gc} profiler, grew by more than {@code allocationThreshold} of the baseline, plus
+ * {@value #ALLOCATION_SLACK} bytes so that an allocation-free baseline does not fail on noise. A benchmark that
+ * is not in the baseline fails as well, since it cannot be checked, and so do results without the allocation
+ * of the {@code gc} profiler, which the gate always runs with.
+ * <p>
+ * Usage, as run by the {@code benchmark} profile in the {@code verify} phase:
+ * <pre>
+ * BenchmarkGate BASELINE RESULTS THROUGHPUT_THRESHOLD ALLOCATION_THRESHOLD [update]
+ * </pre>
+ * With {@code update}, the results replace the baseline instead of being compared to it.
+ */
+public final class BenchmarkGate {
+
+    /**
+     * The secondary metric of the {@code gc} profiler holding the bytes allocated per operation, as JMH 1.37
+     * names it in its JSON results.
+     */
+    static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    /**
+     * The bytes per operation an allocation may grow by, beyond the relative threshold.
+     */
+    private static final double ALLOCATION_SLACK = 16;
+
+    private BenchmarkGate() {
+    }
+
+    /**
+     * Compares the results with the baseline, or replaces the baseline, and exits with a non-zero status
+     * if a benchmark regressed.
+     *
+     * @param args the baseline, the results, the thresholds as fractions, and optionally {@code update}
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(args[0]);
+        Path resultsFile = Path.of(args[1]);
+        if (args.length > 4 && Boolean.parseBoolean(args[4])) {
+            Files.copy(resultsFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Benchmark baseline updated: " + baselineFile);
+            return;
+        }
+        List<String> regressions = compare(read(baselineFile), read(resultsFile),
+                Double.parseDouble(args[2]), Double.parseDouble(args[3]));
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares every result with its baseline.
+     *
+     * @param baseline            the baseline results, by benchmark
+     * @param results             the new results, by benchmark
+     * @param throughputThreshold the fraction of the lower bound of the baseline throughput that may be lost
+     * @param allocationThreshold the fraction of the baseline allocation that may be added
+     * @return a description of every regression, and of every result without a baseline
+     */
+    static List<String> compare(Map<String, Result> baseline, Map<String, Result> results,
+                                double throughputThreshold, double allocationThreshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result expected = baseline.get(entry.getKey());
+            Result actual = entry.getValue();
+            if (expected == null) {
+                regressions.add("No baseline: " + entry.getKey()
+                        + " (record it with -Dbenchmark.gate.update=true)");
+                continue;
+            }
+            String comparison = String.format("%s: %.3f +/- %.3f %s (baseline %.3f +/- %.3f), %.1f B/op (baseline %.1f)",
+                    entry.getKey(), actual.score(), actual.error(), actual.unit(), expected.score(),
+                    expected.error(), actual.allocation(), expected.allocation());
+            System.out.println(comparison);
+            if (actual.score() + actual.error() < (expected.score() - expected.error()) * (1 - throughputThreshold)) {
+                regressions.add("Throughput regressed: " + comparison);
+            }
+            if (!Double.isNaN(actual.allocation()) && !Double.isNaN(expected.allocation())
+                    && actual.allocation() > expected.allocation() * (1 + allocationThreshold) + ALLOCATION_SLACK) {
+                regressions.add("Allocation grew: " + comparison);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Reads the JSON results of a JMH run.
+     *
+     * @param file the file written with {@code -rf json}
+     * @return the results, by benchmark and parameters
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String, Result> read(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the JSON results of a JMH run.
+     *
+     * @param json the results
+     * @return the results, by benchmark and parameters
+     * @throws IllegalArgumentException if the results are not valid JSON, or a result has no allocation because
+     *                                  the {@code gc} profiler was not enabled
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> parse(String json) throws IllegalArgumentException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Object element : (List<Object>) new JsonReader(json).read()) {
+            Map<String, Object> run = (Map<String, Object>) element;
+            StringBuilder key = new StringBuilder((String) run.get("benchmark"));
+            Object params = run.get("params");
+            if (params != null) {
+                new TreeMap<>((Map<String, Object>) params).forEach((name, value) ->
+                        key.append(' ').append(name).append('=').append(value));
+            }
+            Map<String, Object> primary = (Map<String, Object>) run.get("primaryMetric");
+            Map<String, Object> secondary = (Map<String, Object>) run.get("secondaryMetrics");
+            if (secondary == null || secondary.get(ALLOCATION) == null) {
+                throw new IllegalArgumentException("No " + ALLOCATION + " for " + key + ": run with -prof gc");
+            }
+            double allocation = ((Number) ((Map<String, Object>) secondary.get(ALLOCATION)).get("score"))
+                    .doubleValue();
+            // JMH writes no error for a single iteration, whose score is then compared alone
+            double error = primary.get("scoreError") instanceof Number number ? number.doubleValue() : Double.NaN;
+            results.put(key.toString(), new Result(((Number) primary.get("score")).doubleValue(),
+                    Double.isNaN(error) ? 0 : error, (String) primary.get("scoreUnit"), allocation));
+        }
+        return results;
+    }
+
+    /**
+     * The measures of one benchmark.
+     *
+     * @param score      the throughput
+     * @param error      the half-width of the 99.9% confidence interval of the throughput
+     * @param unit       the unit of the throughput
+     * @param allocation the bytes allocated per operation, or NaN if JMH could not measure them
+     */
+    record Result(double score, double error, String unit, double allocation) {
+    }
+
+    /**
+     * Reads the objects, arrays, strings, numbers and literals of a JSON document into maps, lists, strings,
+     * doubles, booleans and {@code null}.
+     */
+    private static final class JsonReader {
+        private final String json;
+        private int position;
+
+        JsonReader(String json) {
+            this.json = json;
+        }
+
+        Object read() {
+            skipWhitespace();
+            char c = json.charAt(position);
+            if (c == '{') return readObject();
+            if (c == '[') return readArray();
+            // JMH writes the scores it could not measure as a string
+            if (json.startsWith("\"NaN\"", position)) return literal(5, Double.NaN);
+            if (c == '"') return readString();
+            if (json.startsWith("true", position)) return literal(4, true);
+            if (json.startsWith("false", position)) return literal(5, false);
+            if (json.startsWith("null", position)) return literal(4, null);
+            return readNumber();
+        }
+
+        private Object literal(int length, Object value) {
+            position += length;
+            return value;
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (json.charAt(position) == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(name, read());
+                skipWhitespace();
+                if (json.charAt(position++) == '}') return object;
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (json.charAt(position) == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(read());
+                skipWhitespace();
+                if (json.charAt(position++) == ']') return array;
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder string = new StringBuilder();
+            char c;
+            while ((c = json.charAt(position++)) != '"') {
+                if (c == '\\') {
+                    c = json.charAt(position++);
+                    switch (c) {
+                        case 'n' -> string.append('\n');
+                        case 't' -> string.append('\t');
+                        case 'r' -> string.append('\r');
+                        case 'b' -> string.append('\b');
+                        case 'f' -> string.append('\f');
+                        case 'u' -> {
+                            string.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                            position += 4;
+                        }
+                        default -> string.append(c);
+                    }
+                } else {
+                    string.append(c);
+                }
+            }
+            return string.toString();
+        }
+
+        private Double readNumber() {
+            int start = position;
+            while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException("Unexpected character at " + position + " of the results");
+            }
+            return Double.parseDouble(json.substring(start, position));
+        }
+
+        private void expect(char c) {
+            if (json.charAt(position++) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + (position - 1) + " of the results");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.CurveSamples;
+import com.graphVisualizer.math.ExpressionCompiler;
+import com.graphVisualizer.math.FixedStepSampling;
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.SamplingRange;
+import com.graphVisualizer.math.Viewport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import static com.graphVisualizer.BenchmarkExpressions.HYPERBOLIC;
+import static com.graphVisualizer.BenchmarkExpressions.INVERSE_SINE;
+import static com.graphVisualizer.BenchmarkExpressions.LINEAR;
+import static com.graphVisualizer.BenchmarkExpressions.RATIONAL;
+import static com.graphVisualizer.BenchmarkExpressions.TANGENT_RATIO;
+
+/**
+ * Measures the painting of a {@code DrawingPane} into a {@code BufferedImage}, without a display.
+ * <p>
+ * The curve is sampled over the range of the pane with the given number of samples, at a fixed step.
+ * <p>
+ * A steady paint only composites the cached layers; a paint after a change of the rendering profile calculates
+ * the curve and renders its layer again first.
+ *
+ * @see DrawingPane#paintComponent(Graphics)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+
+    @Param({LINEAR, RATIONAL, INVERSE_SINE, TANGENT_RATIO, HYPERBOLIC})
+    public String expression;
+
+    @Param({"1000", "100000"})
+    public int samples;
+
+    private DrawingPane drawingPane;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drawingPane = new DrawingPane();
+        Graph graph = new Graph();
+        graph.setColor(Color.RED);
+        drawingPane.addGraph(graph);
+        // The range of the pane, sampled with the given number of samples instead of the configured ones
+        SamplingRange range = graph.getSamplingRange();
+        SamplingRange dense = new SamplingRange(range.begin(), range.step() * range.count() / samples, samples,
+                range.scale());
+        double[] values = new double[samples];
+        ExpressionCompiler.compile(expression).sample(dense.begin(), dense.step(), values);
+        graph.setSamples(expression, new CurveSamples(dense, FixedStepSampling.points(dense), values));
+        drawingPane.updateGraph(graph);
+        Viewport viewport = drawingPane.getViewport();
+        image = new BufferedImage(viewport.width(), viewport.height(), BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+        drawingPane.paintComponent(g2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /**
+     * Composites the grid and the cached layer of the curve.
+     */
+    @Benchmark
+    public BufferedImage paint() {
+        drawingPane.paintComponent(g2);
+        return image;
+    }
+
+    /**
+     * Calculates the curve again, and renders and composites its layer.
+     */
+    @Benchmark
+    public BufferedImage paintAfterProfileChange() {
+        drawingPane.setRenderingProfile(drawingPane.getRenderingProfile());
+        drawingPane.paintComponent(g2);
+        return image;
+    }
+}
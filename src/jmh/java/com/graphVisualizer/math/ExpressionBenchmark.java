@@ -0,0 +1,80 @@
+package com.graphVisualizer.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.graphVisualizer.BenchmarkExpressions.HYPERBOLIC;
+import static com.graphVisualizer.BenchmarkExpressions.INVERSE_SINE;
+import static com.graphVisualizer.BenchmarkExpressions.LINEAR;
+import static com.graphVisualizer.BenchmarkExpressions.RATIONAL;
+import static com.graphVisualizer.BenchmarkExpressions.TANGENT_RATIO;
+
+/**
+ * Measures the parsing and the evaluation of single expressions.
+ * <p>
+ * The expressions are the ones of {@code data/data.txt}, the graphs saved with the repository, as listed by
+ * {@code BenchmarkExpressions}.
+ *
+ * @see ExpressionCompiler
+ * @see CompiledExpression#evaluate(double)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    @Param({LINEAR, RATIONAL, INVERSE_SINE, TANGENT_RATIO, HYPERBOLIC})
+    public String expression;
+
+    private CompiledExpression compiled;
+
+    /**
+     * The next value of {@code x}, moved by every evaluation so that the result cannot be folded.
+     */
+    private double x;
+
+    @Setup
+    public void setUp() {
+        compiled = ExpressionCompiler.compile(expression);
+        x = 0.5;
+    }
+
+    /**
+     * Tokenizes and parses the expression into its tree.
+     */
+    @Benchmark
+    public ExpressionNode parse() {
+        return ExpressionCompiler.parse(expression);
+    }
+
+    /**
+     * Parses, simplifies and compiles the expression with the configured backend.
+     */
+    @Benchmark
+    public CompiledExpression compile() {
+        return ExpressionCompiler.compile(expression);
+    }
+
+    /**
+     * Evaluates the compiled expression at one point.
+     */
+    @Benchmark
+    public double evaluate() {
+        x += 1e-3;
+        return compiled.evaluate(x);
+    }
+}
@@ -0,0 +1,85 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.geom.Path2D;
+import java.util.concurrent.TimeUnit;
+
+import static com.graphVisualizer.BenchmarkExpressions.HYPERBOLIC;
+import static com.graphVisualizer.BenchmarkExpressions.INVERSE_SINE;
+import static com.graphVisualizer.BenchmarkExpressions.LINEAR;
+import static com.graphVisualizer.BenchmarkExpressions.RATIONAL;
+import static com.graphVisualizer.BenchmarkExpressions.TANGENT_RATIO;
+
+/**
+ * Measures the sampling of an expression over the whole range of a graph, and the calculation of its curve.
+ * <p>
+ * The number of samples is set through the width of the viewport, which always shows {@code x} from -10 to 10,
+ * at the configured number of samples per pixel.
+ *
+ * @see Graph#setValuesFromExpression(String)
+ * @see Graph#calculateGraphCurve(int, int)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GraphBenchmark {
+
+    @Param({LINEAR, RATIONAL, INVERSE_SINE, TANGENT_RATIO, HYPERBOLIC})
+    public String expression;
+
+    @Param({"1000", "100000"})
+    public int samples;
+
+    private Graph graph;
+
+    @Setup
+    public void setUp() {
+        graph = graph(expression, samples);
+    }
+
+    /**
+     * Creates a graph of the expression, sampled with about {@code samples} points.
+     */
+    static Graph graph(String expression, int samples) {
+        int width = Math.max(1, (int) (samples / ConfigLoader.getDouble("viewport.samplesPerPixel")));
+        Graph graph = new Graph();
+        graph.setViewport(new Viewport(width / 2.0, 200, width / 20.0, width, 400));
+        graph.setValuesFromExpression(expression);
+        graph.calculateGraphCurve(width / 2, 200);
+        return graph;
+    }
+
+    /**
+     * Compiles the expression, and samples it over the range of the graph.
+     */
+    @Benchmark
+    public CurveSamples setValuesFromExpression() {
+        graph.setValuesFromExpression(expression);
+        return graph.getSamples();
+    }
+
+    /**
+     * Calculates the screen points, the decimated polyline and the path of the curve.
+     */
+    @Benchmark
+    public Path2D calculateGraphCurve() {
+        Viewport viewport = graph.getViewport();
+        graph.calculateGraphCurve((int) Math.round(viewport.originX()), (int) Math.round(viewport.originY()));
+        return graph.getPath();
+    }
+}
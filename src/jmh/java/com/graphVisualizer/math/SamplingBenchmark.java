@@ -0,0 +1,64 @@
+package com.graphVisualizer.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.graphVisualizer.BenchmarkExpressions.INVERSE_SINE;
+import static com.graphVisualizer.BenchmarkExpressions.LINEAR;
+import static com.graphVisualizer.BenchmarkExpressions.RATIONAL;
+
+/**
+ * Compares the backends on the sampling of dense ranges, on the calling thread.
+ * <p>
+ * The {@code VECTOR} backend only differs from {@code BYTECODE} for the arithmetic expressions, and when the
+ * benchmarks were built with the {@code vector} profile as well; the forks always add the incubator module.
+ *
+ * @see ExpressionCompiler.Backend
+ * @see CompiledExpression#sample(double, double, double[])
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SamplingBenchmark {
+
+    @Param({LINEAR, RATIONAL, INVERSE_SINE})
+    public String expression;
+
+    @Param({"1000", "100000"})
+    public int samples;
+
+    @Param({"BYTECODE", "VECTOR"})
+    public ExpressionCompiler.Backend backend;
+
+    private CompiledExpression compiled;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        compiled = ExpressionCompiler.compile(expression, backend);
+        values = new double[samples];
+    }
+
+    /**
+     * Samples the expression from -10 to 10.
+     */
+    @Benchmark
+    public double[] sample() {
+        compiled.sample(-10, 20.0 / samples, values);
+        return values;
+    }
+}
@@ -0,0 +1,45 @@
+package com.graphVisualizer;
+
+import com.graphVisualizer.customComponents.PaintBenchmark;
+import com.graphVisualizer.math.ExpressionBenchmark;
+import com.graphVisualizer.math.GraphBenchmark;
+import com.graphVisualizer.math.SamplingBenchmark;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkExpressionsTest {
+
+    /**
+     * Reads the values of the {@code expression} parameter of a benchmark.
+     */
+    private static List<String> expressions(Class<?> benchmark) throws NoSuchFieldException {
+        return Arrays.asList(benchmark.getField("expression").getAnnotation(Param.class).value());
+    }
+
+    @Test
+    void testExpressionsMatchTheDataFile() throws IOException {
+        List<String> lines = Files.readAllLines(Path.of("data", "data.txt")).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .toList();
+        assertEquals(lines, BenchmarkExpressions.ALL, "The benchmarks should use the expressions of data/data.txt.");
+    }
+
+    @Test
+    void testBenchmarksUseTheExpressions() throws NoSuchFieldException {
+        for (Class<?> benchmark : List.of(ExpressionBenchmark.class, GraphBenchmark.class, PaintBenchmark.class)) {
+            assertEquals(BenchmarkExpressions.ALL, expressions(benchmark),
+                    benchmark.getSimpleName() + " should use every expression.");
+        }
+        assertEquals(BenchmarkExpressions.ALL.subList(0, 3), expressions(SamplingBenchmark.class),
+                "SamplingBenchmark should use the first expressions.");
+    }
+}
@@ -0,0 +1,97 @@
+package com.graphVisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkGateTest {
+
+    private static final String EVALUATE = "com.graphVisualizer.math.ExpressionBenchmark.evaluate expression=1/sin(x^2)";
+    private static final String SAMPLE = "com.graphVisualizer.math.SamplingBenchmark.sample backend=VECTOR "
+            + "expression=1/sin(x^2) samples=1000";
+
+    /**
+     * Reads the results of the fast subset, as written by JMH 1.37 with {@code -prof gc -rf json}.
+     */
+    private static Map<String, BenchmarkGate.Result> results() throws IOException {
+        try (InputStream in = BenchmarkGateTest.class.getResourceAsStream("jmh-1.37-result.json")) {
+            return BenchmarkGate.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testParseJmhResults() throws IOException {
+        Map<String, BenchmarkGate.Result> results = results();
+        assertEquals(9, results.size(), "Every benchmark should be read.");
+        BenchmarkGate.Result evaluate = results.get(EVALUATE);
+        assertNotNull(evaluate, "Benchmarks should be identified by name and parameters.");
+        assertEquals(20184.12374288564, evaluate.score(), 1e-9);
+        assertEquals(4316.650997603321, evaluate.error(), 1e-9, "The error should be read with the score.");
+        assertEquals("ops/ms", evaluate.unit());
+        assertEquals(0.00028242390157219046, evaluate.allocation(), 1e-12,
+                "The allocation should be read from the gc profiler.");
+        assertEquals(0.0910935205924245, results.get(SAMPLE).allocation(), 1e-12);
+    }
+
+    @Test
+    void testSameResultsPass() throws IOException {
+        Map<String, BenchmarkGate.Result> results = results();
+        assertEquals(List.of(), BenchmarkGate.compare(results, results, 0.10, 0.10));
+    }
+
+    @Test
+    void testRegressionsFail() throws IOException {
+        Map<String, BenchmarkGate.Result> baseline = new LinkedHashMap<>(results());
+        BenchmarkGate.Result evaluate = baseline.get(EVALUATE);
+        baseline.put(EVALUATE, new BenchmarkGate.Result(evaluate.score(), evaluate.score() * 0.02, evaluate.unit(),
+                evaluate.allocation()));
+        Map<String, BenchmarkGate.Result> results = new LinkedHashMap<>(baseline);
+        results.put(EVALUATE, new BenchmarkGate.Result(evaluate.score() * 0.8, evaluate.score() * 0.02,
+                evaluate.unit(), 100));
+
+        List<String> regressions = BenchmarkGate.compare(baseline, results, 0.10, 0.10);
+        assertEquals(2, regressions.size(), "Both the throughput and the allocation should fail: " + regressions);
+        assertTrue(regressions.get(0).startsWith("Throughput regressed: " + EVALUATE));
+        assertTrue(regressions.get(1).startsWith("Allocation grew: " + EVALUATE));
+    }
+
+    @Test
+    void testNoiseWithinTheConfidenceIntervalsPasses() throws IOException {
+        Map<String, BenchmarkGate.Result> baseline = results();
+        BenchmarkGate.Result evaluate = baseline.get(EVALUATE);
+        Map<String, BenchmarkGate.Result> results = new LinkedHashMap<>(baseline);
+        // 20% slower, but the baseline itself is only known within 21%
+        results.put(EVALUATE, new BenchmarkGate.Result(evaluate.score() * 0.8, evaluate.error(), evaluate.unit(),
+                evaluate.allocation()));
+        assertEquals(List.of(), BenchmarkGate.compare(baseline, results, 0.10, 0.10),
+                "A difference within the noise of the runs should pass.");
+    }
+
+    @Test
+    void testMissingBaselineFails() throws IOException {
+        Map<String, BenchmarkGate.Result> results = results();
+        Map<String, BenchmarkGate.Result> baseline = new LinkedHashMap<>(results);
+        baseline.remove(SAMPLE);
+
+        List<String> regressions = BenchmarkGate.compare(baseline, results, 0.10, 0.10);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("No baseline: " + SAMPLE));
+        assertEquals(9, BenchmarkGate.compare(Map.of(), results, 0.10, 0.10).size(),
+                "An empty baseline should fail every benchmark.");
+    }
+
+    @Test
+    void testResultsWithoutGcProfilerAreRejected() {
+        String json = "[{\"benchmark\" : \"a.B.c\", \"primaryMetric\" : {\"score\" : 1.0, \"scoreUnit\" : \"ops/s\"},"
+                + " \"secondaryMetrics\" : {}}]";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BenchmarkGate.parse(json));
+        assertTrue(e.getMessage().contains(BenchmarkGate.ALLOCATION), "The missing metric should be named.");
+    }
+}
@@ -0,0 +1,233 @@
+package com.graphVisualizer;
+
+import com.graphVisualizer.customComponents.RenderingProfile;
+import com.graphVisualizer.customComponents.TiledRasterizer;
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import com.graphVisualizer.utils.ConfigLoader;
+import com.graphVisualizer.utils.GraphSerializer;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders files of expressions to PNG images, without a display.
+ * <p>
+ * Every file is read like the saved graphs of the application, one expression per line, and drawn as one scene:
+ * the expressions are sampled over the range of {@code x}, whatever the domain configured for the application
+ * by "g.begin" and "g.end", with the origin in the middle of the image
+ * vertically, and their curves are drawn with the colors the application would give them. The image has the
+ * name of the file, with the extension {@code .png}, in the output directory.
+ * <p>
+ * The files are rendered in parallel, each on a thread of its own; the sampling and the rasterization of a scene
+ * are parallel as well. Nothing here uses Swing, so the renderer runs with {@code java.awt.headless=true}.
+ * <p>
+ * From the command line:
+ * <pre>
+ * java -jar graph-visualizer.jar --batch [--size WIDTHxHEIGHT] [--range MIN:MAX] [--threads N] [--out DIR] FILE...
+ * </pre>
+ *
+ * @see GraphSerializer#readGraphs(File)
+ * @see TiledRasterizer
+ * @see GraphVisualizerApplication#main(String[])
+ */
+public class BatchRenderer {
+
+    /**
+     * The number of colors the hues of the curves are spread over, as in the {@code FunctionInputsPanel}.
+     * Loaded from the configuration using the key "fip.maxFuncCount".
+     */
+    private final int maxFunctionCount = ConfigLoader.getInt("fip.maxFuncCount");
+
+    /**
+     * The part of the plane drawn, and the size of the images.
+     */
+    private final Viewport viewport;
+
+    /**
+     * The range of {@code x} sampled, whatever the configured domain of the graphs.
+     */
+    private final double minX;
+    private final double maxX;
+
+    /**
+     * The directory the images are written to.
+     */
+    private final File outputDirectory;
+
+    /**
+     * The rendering hints and level of detail, loaded from the configuration using the key "render.profile".
+     */
+    private final RenderingProfile profile = RenderingProfile.fromConfig();
+
+    /**
+     * Constructs a renderer.
+     *
+     * @param width           the width of the images, in pixels
+     * @param height          the height of the images, in pixels
+     * @param minX            the smallest {@code x} drawn, on the left edge of the images
+     * @param maxX            the largest {@code x} drawn, on the right edge of the images
+     * @param outputDirectory the directory the images are written to
+     * @throws IllegalArgumentException if the size is not positive or the range is empty
+     */
+    public BatchRenderer(int width, int height, double minX, double maxX, File outputDirectory)
+            throws IllegalArgumentException {
+        if (width <= 0 || height <= 0 || !(maxX > minX)) {
+            throw new IllegalArgumentException("Invalid batch configuration: size " + width + "x" + height
+                    + ", range " + minX + ":" + maxX);
+        }
+        double scale = width / (maxX - minX);
+        this.viewport = new Viewport(-minX * scale, height / 2.0, scale, width, height);
+        this.minX = minX;
+        this.maxX = maxX;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Draws one scene.
+     *
+     * @param expressions the expressions of the scene, one per curve
+     * @return the image
+     * @throws IllegalArgumentException if one of the expressions is invalid or cannot be evaluated
+     */
+    public BufferedImage render(List<String> expressions) throws IllegalArgumentException {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < expressions.size(); i++) {
+            Graph graph = new Graph();
+            graph.setViewport(viewport);
+            graph.setDomain(minX, maxX);
+            graph.setColumnWidth(profile.getColumnWidth());
+            graph.setColor(Color.getHSBColor((float) i / maxFunctionCount, 0.9f, 1f));
+            graphs.add(graph);
+        }
+        Graph.setValuesFromExpressions(graphs, expressions);
+        for (Graph graph : graphs) {
+            graph.calculateGraphCurve((int) Math.round(viewport.originX()), (int) Math.round(viewport.originY()));
+        }
+        return TiledRasterizer.getDefault().render(viewport, graphs, profile);
+    }
+
+    /**
+     * Reads a file of expressions, draws it, and writes the image to the output directory.
+     *
+     * @param file the file of expressions
+     * @return the image file
+     * @throws IOException              if the file cannot be read, or the image cannot be written
+     * @throws IllegalArgumentException if one of the expressions is invalid or cannot be evaluated
+     */
+    public File render(File file) throws IOException, IllegalArgumentException {
+        List<String> expressions = new ArrayList<>();
+        for (String line : GraphSerializer.readGraphs(file)) {
+            if (!line.isBlank()) expressions.add(line.trim());
+        }
+        String name = file.getName();
+        int extension = name.lastIndexOf('.');
+        File image = new File(outputDirectory, (extension > 0 ? name.substring(0, extension) : name) + ".png");
+        ImageIO.write(render(expressions), "png", image);
+        return image;
+    }
+
+    /**
+     * Renders the files on {@code threads} threads. A file that fails is reported on the standard error,
+     * and does not stop the others.
+     *
+     * @param files   the files of expressions
+     * @param threads the number of files rendered at the same time, or 0 for one per available processor
+     * @return the number of files that could not be rendered
+     */
+    public int renderAll(List<File> files, int threads) {
+        int workers = threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            List<Future<?>> rendered = new ArrayList<>();
+            for (File file : files) {
+                rendered.add(executor.submit(() -> {
+                    try {
+                        render(file);
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.err.println("Error rendering " + file + ": " + e.getMessage());
+                        failures.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : rendered) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return failures.get();
+    }
+
+    /**
+     * Renders the files given on the command line, and reports the throughput.
+     * Invalid arguments are reported on the standard error, followed by the usage.
+     *
+     * @param args the options and the files, as described in the documentation of the class
+     * @return the exit status: 0 if every file was rendered, 1 otherwise, 2 for invalid arguments
+     */
+    public static int run(String[] args) {
+        int width = 1920;
+        int height = 1080;
+        double minX = -10;
+        double maxX = 10;
+        int threads = 0;
+        File outputDirectory = new File(".");
+        List<File> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--size" -> {
+                        String[] size = args[++i].split("x");
+                        width = Integer.parseInt(size[0]);
+                        height = Integer.parseInt(size[1]);
+                    }
+                    case "--range" -> {
+                        String[] range = args[++i].split(":");
+                        minX = Double.parseDouble(range[0]);
+                        maxX = Double.parseDouble(range[1]);
+                    }
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--out" -> outputDirectory = new File(args[++i]);
+                    default -> files.add(new File(args[i]));
+                }
+            }
+            if (threads < 0) {
+                throw new IllegalArgumentException("Invalid number of threads: " + threads
+                        + " (0 for one per available processor)");
+            }
+            if (files.isEmpty()) throw new IllegalArgumentException("No files to render");
+            BatchRenderer renderer = new BatchRenderer(width, height, minX, maxX, outputDirectory);
+
+            long start = System.nanoTime();
+            int failures = renderer.renderAll(files, threads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int rendered = files.size() - failures;
+            System.out.printf("Rendered %d of %d files in %.3f s (%.2f files/s)%n", rendered, files.size(), seconds,
+                    rendered / seconds);
+            return failures == 0 ? 0 : 1;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            // Only the last option can be missing its value
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException
+                    ? "Missing value for " + args[args.length - 1] : e.getMessage());
+            System.err.println("Usage: --batch [--size WIDTHxHEIGHT] [--range MIN:MAX] [--threads N] [--out DIR] "
+                    + "FILE...");
+            return 2;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.graphVisualizer;
 import com.graphVisualizer.customComponents.MainFrame;
 
 import javax.swing.*;
+import java.util.Arrays;
 
 /**
  * The {@code GraphVisualizerApplication} class serves as the entry point for the graph visualization application.
@@ -25,11 +26,19 @@ public class GraphVisualizerApplication {
     /**
      * The {@code main} method that serves as the entry point for the {@code GraphVisualizerApplication}.
      * It initializes and starts the application using {@code Swing}'s event dispatch thread.
+     * <p>
+     * With {@code --batch} as the first argument, the files given after it are rendered to images instead,
+     * without a display, and the application exits once they are written.
      *
      * @param args command-line arguments passed to the application
      * @see SwingUtilities
+     * @see BatchRenderer#run(String[])
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(BatchRenderer.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
         SwingUtilities.invokeLater(() -> {
             GraphVisualizerApplication app = new GraphVisualizerApplication();
             app.startApplication();
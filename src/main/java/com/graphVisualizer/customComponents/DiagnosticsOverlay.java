@@ -0,0 +1,182 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.utils.LatencyHistogram;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the paints of a {@code DrawingPane}, and draws what was measured over it.
+ * <p>
+ * Every paint is timed into a {@code LatencyHistogram}, whether the overlay is shown or not, which costs two
+ * reads of the clock and does not allocate. The frames per second and the rate of allocation of the JVM are
+ * computed over windows of at least a second, when the overlay is drawn.
+ * <p>
+ * The overlay shows the percentiles of the paint time, the frames per second and the allocation rate, and, for
+ * every graph, its number of samples, how long its last evaluation took, the 99th percentile of its evaluations,
+ * and the number of segments of its curve.
+ *
+ * @see DrawingPane#setDiagnosticsVisible(boolean)
+ * @see Graph#getEvaluationLatency()
+ */
+public class DiagnosticsOverlay {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final int PADDING = 4;
+
+    /**
+     * The durations of the paints, in nanoseconds.
+     */
+    private final LatencyHistogram paintLatency = new LatencyHistogram();
+
+    /**
+     * When the paint being timed started.
+     */
+    private long paintStart;
+
+    /**
+     * The start of the current window, and the paints and the allocated bytes counted since.
+     */
+    private long windowStart = System.nanoTime();
+    private long windowFrames;
+    private long windowAllocated = allocatedBytes();
+
+    /**
+     * The rates of the last complete window.
+     */
+    private double framesPerSecond;
+    private double allocationRate;
+
+    /**
+     * The part of the pane drawn over by the last overlay.
+     */
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Starts timing a paint.
+     */
+    public void paintStarted() {
+        paintStart = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a paint, and counts it.
+     */
+    public void paintFinished() {
+        paintLatency.record(System.nanoTime() - paintStart);
+        windowFrames++;
+    }
+
+    /**
+     * @return the durations of the paints, in nanoseconds
+     */
+    public LatencyHistogram getPaintLatency() {
+        return paintLatency;
+    }
+
+    /**
+     * Forgets the paints measured so far, so that the overlay shows the paints since it was shown.
+     */
+    public void reset() {
+        paintLatency.reset();
+        windowStart = System.nanoTime();
+        windowFrames = 0;
+        windowAllocated = allocatedBytes();
+        framesPerSecond = 0;
+        allocationRate = 0;
+    }
+
+    /**
+     * Draws the overlay in the top left corner.
+     *
+     * @param g2     the graphics of the pane
+     * @param graphs the graphs of the pane
+     */
+    public void paint(Graphics2D g2, List<Graph> graphs) {
+        updateRates();
+        List<String> lines = lines(graphs);
+        FontMetrics metrics = g2.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        bounds.setBounds(0, 0, width + 2 * PADDING, lines.size() * metrics.getHeight() + 2 * PADDING);
+
+        g2.setColor(new Color(0, 0, 0, 160));
+        g2.fill(bounds);
+        g2.setColor(Color.WHITE);
+        int y = PADDING + metrics.getAscent();
+        for (String line : lines) {
+            g2.drawString(line, PADDING, y);
+            y += metrics.getHeight();
+        }
+    }
+
+    /**
+     * @return the part of the pane drawn over by the last overlay, empty if it was never drawn
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Writes what was measured, one line per measure.
+     */
+    List<String> lines(List<Graph> graphs) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("paint p50 %.2f p90 %.2f p99 %.2f max %.2f ms", millis(paintLatency.percentile(50)),
+                millis(paintLatency.percentile(90)), millis(paintLatency.percentile(99)),
+                millis(paintLatency.max())));
+        lines.add(String.format("%.1f fps, %.1f MB/s allocated", framesPerSecond, allocationRate / 1e6));
+        for (int i = 0; i < graphs.size(); i++) {
+            Graph graph = graphs.get(i);
+            if (graph.getExpression() == null) continue;
+            lines.add(String.format("f%d: %d samples, eval %.2f ms (p99 %.2f), %d segments", i + 1,
+                    graph.getSamples().size(), millis(graph.getEvaluationNanos()),
+                    millis(graph.getEvaluationLatency().percentile(99)), graph.getSegmentCount()));
+        }
+        return lines;
+    }
+
+    /**
+     * Completes the current window if it lasted long enough.
+     */
+    private void updateRates() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW_NANOS) return;
+        long allocated = allocatedBytes();
+        framesPerSecond = windowFrames * 1e9 / elapsed;
+        allocationRate = allocated < 0 ? 0 : Math.max(0, allocated - windowAllocated) * 1e9 / elapsed;
+        windowStart = now;
+        windowFrames = 0;
+        windowAllocated = allocated;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Sums the bytes allocated by the live threads, which the JVMs before 21 cannot count for all threads at once.
+     * The bytes of the threads that ended are no longer counted, so the sum may decrease.
+     *
+     * @return the bytes allocated by the live threads of the JVM so far, or -1 if they are not measured
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemoryEnabled()) {
+            long total = 0;
+            for (long allocated : sunThreads.getThreadAllocatedBytes(sunThreads.getAllThreadIds())) {
+                if (allocated > 0) total += allocated;
+            }
+            return total;
+        }
+        return -1;
+    }
+}
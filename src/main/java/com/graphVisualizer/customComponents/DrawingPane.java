@@ -1,32 +1,146 @@
 package com.graphVisualizer.customComponents;
 
+import com.graphVisualizer.math.CompiledExpression;
+import com.graphVisualizer.math.CurveSamples;
+import com.graphVisualizer.math.ExpressionCompiler;
+import com.graphVisualizer.math.FixedStepSampling;
 import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.SamplingRange;
+import com.graphVisualizer.math.Viewport;
 import com.graphVisualizer.utils.ConfigLoader;
+import jdk.jfr.EventType;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * The {@code DrawingPane} class is a custom {@code JPanel} that is used to draw {@code Graphs}.
  * It initializes the size of the panel based on configuration values and allows
  * for adding, updating, and removing graphs.
+ * <p>
+ * The grid and every curve are kept in layers: images that are rendered again only when their content changed,
+ * and composited on every paint. Hiding or showing a graph, or changing another one, therefore only costs a blit.
+ * When a single graph changes, only the pixels covered by its old or new curve are repainted, and the layers
+ * outside the paint clip are skipped.
+ * <p>
+ * The plane can be panned by dragging it, and zoomed with the mouse wheel. During the gesture, the curves
+ * already drawn are reused: their layers are moved and scaled to the current {@code Viewport}. Once the gesture
+ * pauses, the graphs are re-sampled in the background, and each curve is redrawn when its samples are ready.
  *
  * @see JPanel
  * @see Graph
+ * @see Viewport
  */
 public class DrawingPane extends JPanel {
 
+    /**
+     * The pixels a stroked and antialiased curve may cover beyond the bounds of its path.
+     */
+    private static final int STROKE_MARGIN = 2;
+
+    /**
+     * The type of the {@code PaintEvent}s, which are only created while it is enabled in a recording.
+     */
+    private static final EventType PAINT_EVENT = EventType.getEventType(PaintEvent.class);
+
     private final int width = ConfigLoader.getInt("dim.dp.width");
     private final int height = ConfigLoader.getInt("dim.dp.height");
-    private final int centerX;
-    private final int centerY;
     private final List<Graph> graphList = new ArrayList<>();
     private final List<Line2D> gridLines = new ArrayList<>();
 
+    /**
+     * The color of the grid lines, loaded once from the configuration using the key "color.grid".
+     */
+    private final Color gridColor = ConfigLoader.getColor("color.grid");
+
+    /**
+     * The factor applied to the scale by one notch of the mouse wheel, loaded from the configuration
+     * using the key "viewport.zoomFactor".
+     */
+    private final double zoomFactor = ConfigLoader.getDouble("viewport.zoomFactor");
+
+    /**
+     * The trade-off between the quality and the speed of the drawing, loaded from the configuration using the key
+     * "render.profile".
+     *
+     * @see #setRenderingProfile(RenderingProfile)
+     */
+    private RenderingProfile renderingProfile = RenderingProfile.fromConfig();
+
+    /**
+     * Times every paint, and draws what was measured over the pane when {@link #diagnosticsVisible} is set,
+     * which is loaded from the configuration using the key "diagnostics.enabled".
+     *
+     * @see #setDiagnosticsVisible(boolean)
+     */
+    private final DiagnosticsOverlay diagnostics = new DiagnosticsOverlay();
+    private boolean diagnosticsVisible = Boolean.parseBoolean(ConfigLoader.get("diagnostics.enabled"));
+
+    /**
+     * The part of the plane currently shown.
+     *
+     * @see #setViewport(Viewport)
+     */
+    private Viewport viewport;
+
+    /**
+     * The viewport the lines of the graphs were calculated for, which lags behind {@link #viewport}
+     * during a gesture.
+     */
+    private Viewport curveViewport;
+
+    /**
+     * The grid lines, drawn where the axes currently are.
+     */
+    private BufferedImage gridImage;
+
+    /**
+     * Whether {@link #gridImage} has to be drawn again.
+     */
+    private boolean gridChanged = true;
+
+    /**
+     * The layer of each graph, holding its curve drawn at {@link #curveViewport}.
+     */
+    private final Map<Graph, Layer> layers = new HashMap<>();
+
+    /**
+     * The transformation applied to the layers of the curves, updated in place by {@link #curveTransform()}.
+     */
+    private final AffineTransform curveTransform = new AffineTransform();
+
+    /**
+     * The bounds of the paint clip, and of the layer being painted, reused by every paint.
+     */
+    private final Rectangle clip = new Rectangle();
+    private final Rectangle layerBounds = new Rectangle();
+
+    /**
+     * Restarted by every pan or zoom; re-samples the graphs once the gesture paused for "viewport.resampleDelayMs"
+     * milliseconds.
+     */
+    private final Timer resampleTimer;
+
+    /**
+     * The background re-sampling of each graph, if it has not finished yet; graphs sampled together share
+     * their worker.
+     */
+    private final Map<Graph, SwingWorker<?, ?>> resampling = new HashMap<>();
+
     /**
      * Initializes the drawing pane with specific configurations.
      */
@@ -35,11 +149,14 @@ public class DrawingPane extends JPanel {
         setPreferredSize(new Dimension(width, height));
         setMaximumSize(new Dimension(width, height));
         setDoubleBuffered(true);
-        centerX = width / 2;
-        centerY = height / 2;
+        viewport = new Viewport(width / 2, height / 2, ConfigLoader.getDouble("g.scale"), width, height);
+        curveViewport = viewport;
         setBackground(ConfigLoader.getColor("color.dp.background"));
         initGridLines();
 
+        resampleTimer = new Timer(ConfigLoader.getInt("viewport.resampleDelayMs"), event -> resampleAll());
+        resampleTimer.setRepeats(false);
+        setupNavigation();
     }
 
     /**
@@ -47,53 +164,320 @@ public class DrawingPane extends JPanel {
      */
     private void initGridLines() {
         // Add center vertical line
-        gridLines.add(new Line2D.Double(centerX, 0, centerX, height));
+        gridLines.add(new Line2D.Double());
         // Add center horizontal line
-        gridLines.add(new Line2D.Double(0, centerY, width, centerY));
+        gridLines.add(new Line2D.Double());
+        updateGridLines();
+    }
+
+    /**
+     * Moves the axes to the origin of the current viewport.
+     */
+    private void updateGridLines() {
+        int originX = (int) Math.round(viewport.originX());
+        int originY = (int) Math.round(viewport.originY());
+        gridLines.get(0).setLine(originX, 0, originX, height);
+        gridLines.get(1).setLine(0, originY, width, originY);
+        gridChanged = true;
+    }
+
+    /**
+     * Pans the plane while the mouse is dragged, and zooms around the cursor when the wheel is moved.
+     */
+    private void setupNavigation() {
+        MouseAdapter navigation = new MouseAdapter() {
+            private Point dragStart;
+            private Viewport dragViewport;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+                dragViewport = viewport;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart == null) return;
+                setViewport(dragViewport.translated(e.getX() - dragStart.x, e.getY() - dragStart.y));
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(zoomFactor, -e.getPreciseWheelRotation());
+                setViewport(viewport.zoomed(factor, e.getX(), e.getY()));
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    /**
+     * Shows another part of the plane. The curves are moved with the image they were drawn into,
+     * and the graphs are re-sampled once the gesture pauses.
+     *
+     * @param viewport the part of the plane to be shown
+     * @see #resampleAll()
+     */
+    public void setViewport(Viewport viewport) {
+        this.viewport = viewport;
+        graphList.forEach(graph -> graph.setViewport(viewport));
+        updateGridLines();
+        resampleTimer.restart();
+        repaint();
+    }
+
+    /**
+     * Retrieves the part of the plane currently shown.
+     *
+     * @return the current viewport
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Switches the trade-off between the quality and the speed of the drawing. The curves are calculated again
+     * at the level of detail of the profile, and every layer is rendered again with its hints.
+     *
+     * @param renderingProfile the new profile
+     */
+    public void setRenderingProfile(RenderingProfile renderingProfile) {
+        this.renderingProfile = renderingProfile;
+        for (Graph graph : graphList) {
+            graph.setColumnWidth(renderingProfile.getColumnWidth());
+            calculateGraphCurve(graph);
+        }
+        gridChanged = true;
+        repaint();
     }
 
     /**
-     * Adds a {@code Graph} to the {@code DrawingPane}.
+     * Retrieves the trade-off between the quality and the speed of the drawing.
+     *
+     * @return the current rendering profile
+     */
+    public RenderingProfile getRenderingProfile() {
+        return renderingProfile;
+    }
+
+    /**
+     * Re-samples, in the background, every graph whose samples do not match the current viewport.
+     * The in-flight re-sampling of a previous viewport is cancelled.
+     * <p>
+     * The graphs that sample the same range at a fixed step are sampled together by one worker, through a shared
+     * {@code EvaluationPlan}, so that their common sub-expressions are evaluated once per x. A graph sampled
+     * adaptively, or alone on its range, is compiled and re-sampled on its own, reusing the samples it already
+     * has where the ranges overlap.
+     *
+     * @see PlanEvaluationWorker
+     * @see GraphEvaluationWorker#resampling(Graph, String, CompiledExpression, java.util.function.Consumer)
+     */
+    private void resampleAll() {
+        Map<SamplingRange, List<Graph>> shared = new LinkedHashMap<>();
+        for (Graph graph : graphList) {
+            SwingWorker<?, ?> previous = resampling.remove(graph);
+            if (previous != null) previous.cancel(true);
+            if (graph.getExpression() == null || graph.isSampledFor(graph.getSamplingRange())) continue;
+
+            if (graph.getSamplingStrategy() instanceof FixedStepSampling) {
+                shared.computeIfAbsent(graph.getSamplingRange(), range -> new ArrayList<>()).add(graph);
+            } else {
+                resample(graph);
+            }
+        }
+        for (List<Graph> graphs : shared.values()) {
+            if (graphs.size() == 1) {
+                resample(graphs.get(0));
+                continue;
+            }
+            PlanEvaluationWorker worker = new PlanEvaluationWorker(graphs, published -> {
+                graphs.forEach(resampling::remove);
+                published.forEach(this::updateGraph);
+            });
+            graphs.forEach(graph -> resampling.put(graph, worker));
+            worker.execute();
+        }
+    }
+
+    /**
+     * Re-samples a single graph in the background, unless its expression is invalid.
+     *
+     * @param graph the graph whose samples do not match the current viewport
+     */
+    private void resample(Graph graph) {
+        CompiledExpression compiled;
+        try {
+            compiled = ExpressionCompiler.compile(graph.getExpression());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        GraphEvaluationWorker worker = GraphEvaluationWorker.resampling(graph, graph.getExpression(), compiled,
+                error -> {
+                    resampling.remove(graph);
+                    if (error == null) updateGraph(graph);
+                });
+        resampling.put(graph, worker);
+        worker.execute();
+    }
+
+    /**
+     * Adds a {@code Graph} to the {@code DrawingPane}, and sets its viewport to the one of the pane,
+     * so that only the visible part of the curve is sampled. Nothing is repainted until the curve of the graph
+     * is calculated by {@link #updateGraph(Graph)}.
      *
      * @param graph the {@code Graph} to be added
+     * @see Graph#setViewport(Viewport)
      */
     public void addGraph(Graph graph) {
+        graph.setViewport(viewport);
+        graph.setColumnWidth(renderingProfile.getColumnWidth());
         graphList.add(graph);
-        repaint();
+        layers.put(graph, new Layer());
     }
 
     /**
-     * Updates the curve of the {@code Graph}.
+     * Updates the curve of the {@code Graph}. If the viewport changed since the curves were calculated,
+     * the curves of all graphs are calculated again, so that they can be drawn together.
+     * <p>
+     * The layer of the graph is only rendered again if its samples or its color changed; a change of visibility
+     * is a repaint. Unless the viewport changed, only the part of the pane covered by the old or the new curve
+     * is repainted.
+     * <p>
+     * Samples that were computed for another viewport are re-sampled once the viewport settles.
+     * A graph that was removed from the pane in the meantime is ignored.
      *
      * @param graph the {@code Graph} to be updated
      */
     public void updateGraph(Graph graph) {
-        graph.calculateGraphCurve(centerX, centerY);
-        repaint();
+        if (!layers.containsKey(graph)) return;
+        if (!viewport.equals(curveViewport)) {
+            curveViewport = viewport;
+            graphList.forEach(this::calculateGraphCurve);
+            repaint();
+        } else {
+            Layer layer = layers.get(graph);
+            Rectangle before = layer.bounds;
+            if (layer.isOutdated(graph)) {
+                calculateGraphCurve(graph);
+            }
+            repaintCurve(before.union(layer.bounds));
+            if (diagnosticsVisible) repaintDiagnostics();
+        }
+        if (graph.getExpression() != null && !graph.isSampledFor(graph.getSamplingRange())) {
+            resampleTimer.restart();
+        }
     }
 
     /**
-     * @param graph the {@code Graph} to be removed
+     * Calculates the curve of the graph at {@link #curveViewport}, and marks its layer to be rendered again.
      */
-    public void removeGraph(Graph graph) {
-        graphList.remove(graph);
+    private void calculateGraphCurve(Graph graph) {
+        graph.calculateGraphCurve((int) Math.round(curveViewport.originX()), (int) Math.round(curveViewport.originY()));
+        layers.get(graph).invalidate(graph);
+    }
+
+    /**
+     * Repaints the part of the pane where a curve is drawn.
+     *
+     * @param bounds the bounds of the curve at {@link #curveViewport}, with a negative size for no curve
+     */
+    private void repaintCurve(Rectangle bounds) {
+        if (bounds.width < 0 || bounds.height < 0) return;
+        Rectangle dirty = new Rectangle();
+        toScreen(bounds, dirty);
+        repaint(dirty);
+    }
+
+    /**
+     * Repaints the overlay, and the room for one more line below it, in case a graph was added.
+     */
+    private void repaintDiagnostics() {
+        Rectangle bounds = diagnostics.getBounds();
+        repaint(0, 0, Math.max(bounds.width, width), bounds.height + getFontMetrics(getFont()).getHeight());
+    }
+
+    /**
+     * Shows or hides the measures of the paints and of the graphs over the pane. The paints are measured again
+     * from when the overlay is shown.
+     *
+     * @param visible whether the overlay is shown
+     * @see DiagnosticsOverlay
+     */
+    public void setDiagnosticsVisible(boolean visible) {
+        if (visible && !diagnosticsVisible) diagnostics.reset();
+        diagnosticsVisible = visible;
         repaint();
     }
 
     /**
-     * Determines if the {@code Line} is out of bounds
+     * Determines if the measures of the paints and of the graphs are shown over the pane.
+     *
+     * @return true if the overlay is shown
+     */
+    public boolean isDiagnosticsVisible() {
+        return diagnosticsVisible;
+    }
+
+    /**
+     * For tests.<br>
+     * Retrieves what measures the paints.
      *
-     * @param line the {@code Line} to be checked
-     * @return true if the line does not fit the {@code DrawingPane};
-     * @see Line2D
+     * @return the overlay of the pane, whether it is shown or not
      */
-    private boolean filterLineOutOfSight(Line2D line) {
-        return (this.contains((int) Math.round(line.getP1().getX()), (int) Math.round(line.getP1().getY())) ||
-                this.contains((int) Math.round(line.getP2().getX()), (int) Math.round(line.getP2().getY())));
+    DiagnosticsOverlay getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Computes where the pixels covered by a curve of {@link #curveViewport} are shown, including the width
+     * of the stroke.
+     *
+     * @param bounds the bounds of the path of the curve at {@link #curveViewport}
+     * @param screen set to the bounds on the pane
+     */
+    private void toScreen(Rectangle bounds, Rectangle screen) {
+        AffineTransform transform = curveTransform();
+        double ratio = transform.getScaleX();
+        int left = (int) Math.floor(bounds.x * ratio + transform.getTranslateX()) - STROKE_MARGIN;
+        int top = (int) Math.floor(bounds.y * ratio + transform.getTranslateY()) - STROKE_MARGIN;
+        int right = (int) Math.ceil((bounds.x + bounds.width) * ratio + transform.getTranslateX()) + STROKE_MARGIN;
+        int bottom = (int) Math.ceil((bounds.y + bounds.height) * ratio + transform.getTranslateY()) + STROKE_MARGIN;
+        screen.setBounds(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * Removes a {@code Graph} from the {@code DrawingPane}, and repaints the part of the pane where its curve was.
+     *
+     * @param graph the {@code Graph} to be removed
+     */
+    public void removeGraph(Graph graph) {
+        graphList.remove(graph);
+        SwingWorker<?, ?> worker = resampling.remove(graph);
+        // A worker shared with other graphs keeps sampling them
+        if (worker != null && !resampling.containsValue(worker)) worker.cancel(true);
+        Layer layer = layers.remove(graph);
+        if (layer != null) repaintCurve(layer.bounds);
     }
 
     /**
      * Overrides the paintComponent method to draw the grid and {@code Graph} lines onto the {@code DrawingPane}.
+     * <p>
+     * The grid and the layers of the visible graphs are composited, after rendering again those that changed.
+     * The layers are transformed from the viewport they were drawn at to the current one.
+     * <p>
+     * Only the part of the pane within the clip is painted: the layers that do not intersect it are neither
+     * rendered nor composited.
+     * <p>
+     * Painting is frequent, so nothing is allocated here while the curves do not change: the grid color, the
+     * transformation and the rectangles are kept in fields, and the lists are iterated by index. Every paint is
+     * timed, recorded as a {@code PaintEvent} when a recording enables it, and the diagnostics overlay is drawn
+     * over the curves when it is shown.
      *
      * @param g the {@code Graphics} object used for drawing
      * @see Graph
@@ -101,25 +485,109 @@ public class DrawingPane extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        // The pane is not opaque, so the UI delegate would paint nothing, on a copy of the Graphics
+        // that super.paintComponent allocates on every call
+        diagnostics.paintStarted();
+        PaintEvent event = PAINT_EVENT.isEnabled() ? new PaintEvent() : null;
+        if (event != null) event.begin();
+        int drawnGraphs = 0;
+        int drawnSegments = 0;
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        renderingProfile.apply(g2);
 
         // Draw grid lines
-        g2.setColor(ConfigLoader.getColor("color.grid"));
-        for (Line2D line : gridLines) {
-            g2.draw(line);
+        if (gridChanged) {
+            gridImage = clear(gridImage);
+            Graphics2D grid = createLayerGraphics(gridImage);
+            grid.setColor(gridColor);
+            for (int i = 0; i < gridLines.size(); i++) {
+                grid.draw(gridLines.get(i));
+            }
+            grid.dispose();
+            gridChanged = false;
         }
+        g2.drawImage(gridImage, 0, 0, null);
 
         // Draw graph lines
-        graphList.stream()
-                .filter(Graph::isVisible)
-                .forEach(graph -> {
-                    g2.setColor(graph.getColor());
-                    Arrays.stream(graph.getLines()).filter(this::filterLineOutOfSight).forEach(g2::draw);
-                });
+        clip.setBounds(0, 0, width, height);
+        g2.getClipBounds(clip);
+        AffineTransform transform = curveTransform();
+        for (int i = 0; i < graphList.size(); i++) {
+            Graph graph = graphList.get(i);
+            if (graph.isVisible()) {
+                Layer layer = layers.get(graph);
+                if (layer.bounds.width < 0 || layer.bounds.height < 0) continue;
+                toScreen(layer.bounds, layerBounds);
+                if (!layerBounds.intersects(clip)) continue;
+                if (layer.changed) {
+                    layer.render(graph);
+                }
+                g2.drawImage(layer.image, transform, null);
+                drawnGraphs++;
+                drawnSegments += graph.getSegmentCount();
+            }
+        }
+        diagnostics.paintFinished();
+        if (event != null && event.shouldCommit()) {
+            event.graphs = drawnGraphs;
+            event.segments = drawnSegments;
+            event.commit();
+        }
+
+        if (diagnosticsVisible) {
+            diagnostics.paint(g2, graphList);
+        }
+    }
+
+    /**
+     * Clears the layer, or creates it if it does not exist yet.
+     * <p>
+     * The layers are premultiplied, which Java2D composites without temporary buffers.
+     *
+     * @param image the layer, or {@code null}
+     * @return the transparent layer
+     */
+    private BufferedImage clear(BufferedImage image) {
+        if (image == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        Graphics2D g2 = image.createGraphics();
+        g2.setComposite(AlphaComposite.Clear);
+        g2.fillRect(0, 0, width, height);
+        g2.dispose();
+        return image;
     }
 
+    private Graphics2D createLayerGraphics(BufferedImage image) {
+        Graphics2D g2 = image.createGraphics();
+        renderingProfile.apply(g2);
+        return g2;
+    }
+
+    /**
+     * Computes the transformation from the pixels of {@link #curveViewport} to the pixels of {@link #viewport}.
+     *
+     * @return the transformation applied to the layers of the curves, which is reused by the next call
+     */
+    AffineTransform curveTransform() {
+        double ratio = viewport.scale() / curveViewport.scale();
+        curveTransform.setTransform(ratio, 0, 0, ratio,
+                viewport.originX() - Math.round(curveViewport.originX()) * ratio,
+                viewport.originY() - Math.round(curveViewport.originY()) * ratio);
+        return curveTransform;
+    }
+
+    /**
+     * Writes the grid and the visible curves, as they are shown, as an SVG document. The curves are the decimated
+     * paths drawn into the layers, moved to the current viewport like the layers.
+     *
+     * @param out the writer of the document, which is not closed
+     * @throws IOException if the writer fails
+     * @see SvgExporter
+     */
+    public void exportSvg(Writer out) throws IOException {
+        new SvgExporter().write(out, viewport, graphList, curveTransform());
+    }
 
     /**
      * Retrieves the list of all {@code Graph} objects currently contained within the {@code DrawingPane}.
@@ -140,4 +608,71 @@ public class DrawingPane extends JPanel {
     public List<Line2D> getGridLines() {
         return gridLines;
     }
+
+    /**
+     * For tests.<br>
+     * Retrieves the image the grid is drawn into.
+     *
+     * @return the grid, or {@code null} if the pane was never painted
+     */
+    BufferedImage getGridImage() {
+        return gridImage;
+    }
+
+    /**
+     * For tests.<br>
+     * Retrieves the image the curve of a graph is drawn into.
+     *
+     * @param graph a graph of the pane
+     * @return the layer of the graph, or {@code null} if it was never painted
+     */
+    BufferedImage getLayer(Graph graph) {
+        return layers.get(graph).image;
+    }
+
+    /**
+     * The curve of a graph, drawn into an image of its own, and what it was drawn from.
+     */
+    private final class Layer {
+        private BufferedImage image;
+
+        /**
+         * The bounds of the curve, and the samples and color it was calculated with, so that an update which
+         * changed neither keeps the layer.
+         */
+        private Rectangle bounds = new Rectangle(0, 0, -1, -1);
+        private CurveSamples samples;
+        private Color color;
+
+        /**
+         * Whether the curve was calculated at least once.
+         */
+        private boolean calculated;
+
+        /**
+         * Whether the curve changed since the layer was rendered.
+         */
+        private boolean changed = true;
+
+        boolean isOutdated(Graph graph) {
+            return !calculated || samples != graph.getSamples() || !Objects.equals(color, graph.getColor());
+        }
+
+        void invalidate(Graph graph) {
+            bounds = graph.getCurveBounds();
+            samples = graph.getSamples();
+            color = graph.getColor();
+            calculated = true;
+            changed = true;
+        }
+
+        void render(Graph graph) {
+            image = clear(image);
+            Graphics2D g2 = createLayerGraphics(image);
+            g2.setColor(graph.getColor());
+            g2.draw(graph.getPath());
+            g2.dispose();
+            changed = false;
+        }
+    }
 }
@@ -112,13 +112,15 @@ public class FunctionInputsPanel extends JPanel {
     /**
      * Gets called when the {@code deleteButton} of the {@code FunctionTextInputComponent} is pressed.
      * <p>
-     * Removes the provided {@code input} component from the list, and from the {@code DrawingPane}.
+     * Removes the provided {@code input} component from the list, and from the {@code DrawingPane}. The evaluations
+     * of its expression are stopped, since its focus is usually lost to the {@code deleteButton} just before.
      *
      * @param input the {@code FunctionTextInputComponent that gets deleted}.
      * @see DrawingPane
      * @see FunctionTextInputComponent
      */
     public void deleteInput(FunctionTextInputComponent input) {
+        input.dispose();
         drawingPane.removeGraph(input.getGraph());
         inputComponents.remove(input);
         if (inputComponents.size() == maxFunctionCount - 1)
@@ -143,18 +145,23 @@ public class FunctionInputsPanel extends JPanel {
     /**
      * Creates number of inputs equal to the number of elements in the {@code inputs} List, and sets their
      * function and {@code Graph} based on the expressions in the {@code input}.
+     * <p>
+     * The {@code Graphs} are sampled together, so that sub-expressions shared by several functions
+     * are evaluated only once.
      *
      * @param inputs the mathematical expressions for the functions
-     * @see com.graphVisualizer.math.Graph
+     * @throws IllegalArgumentException if one of the expressions is invalid
+     * @see com.graphVisualizer.math.Graph#setValuesFromExpressions(List, List)
      */
     public void setMultipleInputs(List<String> inputs) {
+        List<Graph> graphs = new ArrayList<>();
         for (String s : inputs) {
             addNewInput();
             FunctionTextInputComponent newInput = inputComponents.get(inputComponents.size() - 1);
-            newInput.getGraph().setValuesFromExpression(s);
             newInput.setExpression(s);
-
+            graphs.add(newInput.getGraph());
         }
+        Graph.setValuesFromExpressions(graphs, inputs);
     }
 
     /**
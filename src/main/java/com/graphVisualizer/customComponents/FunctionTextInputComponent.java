@@ -1,10 +1,14 @@
 package com.graphVisualizer.customComponents;
 
+import com.graphVisualizer.math.CompiledExpression;
+import com.graphVisualizer.math.ExpressionCompiler;
 import com.graphVisualizer.math.Graph;
 import com.graphVisualizer.utils.ConfigLoader;
 
 import javax.swing.*;
 import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 
 /**
@@ -54,6 +58,48 @@ public class FunctionTextInputComponent extends JPanel {
      */
     private CustomButton deleteButton;
 
+    /**
+     * The background evaluation of the latest expression, if it has not finished yet.
+     *
+     * @see #evaluate(FunctionInputsPanel, int)
+     */
+    private GraphEvaluationWorker evaluation;
+
+    /**
+     * The expression evaluated by {@link #evaluation}, so that losing focus does not evaluate
+     * the expression that was already plotted while typing.
+     */
+    private String evaluatedExpression;
+
+    /**
+     * Whether the graph is re-plotted while the user types, loaded from the configuration using the key
+     * "live.enabled".
+     *
+     * @see ConfigLoader
+     */
+    private final boolean liveEnabled = Boolean.parseBoolean(ConfigLoader.get("live.enabled"));
+
+    /**
+     * The distance between two evaluated samples of the preview shown while typing, loaded from the
+     * configuration using the key "live.previewStride".
+     *
+     * @see GraphEvaluationWorker
+     */
+    private final int previewStride = ConfigLoader.getInt("live.previewStride");
+
+    /**
+     * Restarted by every edit of the {@code textField}; the expression is evaluated once no edit happened for
+     * "live.debounceMs" milliseconds, so the keystrokes in between are never evaluated.
+     *
+     * @see ConfigLoader
+     */
+    private Timer liveTimer;
+
+    /**
+     * Set while the text is changed by {@link #setExpression(String)}, which is not an edit of the user.
+     */
+    private boolean settingExpression;
+
     /**
      * Initializes the component with respect to the {@code FunctionInputsPanel} it's in.
      *
@@ -106,7 +152,8 @@ public class FunctionTextInputComponent extends JPanel {
     }
 
     /**
-     * Sets {@code ActionListeners} for the buttons, and {@code FocusListener} for the {@code textField}
+     * Sets {@code ActionListeners} for the buttons, and {@code FocusListener} for the {@code textField}.
+     * In live mode, a {@code DocumentListener} also re-plots the function while the user types.
      *
      * @param panel the {@code FunctionInputsPanel} which has to be updated when the user entered the expression.
      * @see FunctionInputsPanel
@@ -119,16 +166,29 @@ public class FunctionTextInputComponent extends JPanel {
         textField.addActionListener(event -> textField.transferFocus());
         textField.addFocusListener(new java.awt.event.FocusAdapter() {
             public void focusLost(java.awt.event.FocusEvent evt) {
-                try {
-                    graph.setValuesFromExpression(textField.getText());
-                    textField.setBackground(Color.white);
-                } catch (IllegalArgumentException iaex) {
-                    textField.setBackground(ConfigLoader.getColor("color.inputError"));
-                }
-                panel.updateInput(FunctionTextInputComponent.this);
+                liveTimer.stop();
+                evaluate(panel, 1);
             }
         });
 
+        // Evaluate while typing, once the user paused
+        liveTimer = new Timer(ConfigLoader.getInt("live.debounceMs"), event -> evaluate(panel, previewStride));
+        liveTimer.setRepeats(false);
+        if (liveEnabled) {
+            textField.getDocument().addDocumentListener(new DocumentListener() {
+                public void insertUpdate(DocumentEvent e) {
+                    if (!settingExpression) liveTimer.restart();
+                }
+
+                public void removeUpdate(DocumentEvent e) {
+                    if (!settingExpression) liveTimer.restart();
+                }
+
+                public void changedUpdate(DocumentEvent e) {
+                }
+            });
+        }
+
         // Delete button handler
         deleteButton.addActionListener(event -> panel.deleteInput(FunctionTextInputComponent.this));
 
@@ -136,6 +196,63 @@ public class FunctionTextInputComponent extends JPanel {
         visibilityButton.addActionListener(event -> toggleVisibility(panel));
     }
 
+    /**
+     * Compiles the expression of the {@code textField} on the Event Dispatch Thread, so that syntax errors are
+     * shown at once, then samples it in the background. The in-flight evaluation of a previous expression
+     * is cancelled, unless it is evaluating the same expression.
+     * <p>
+     * The {@code panel} is updated when the new values are published, or when the expression turned out invalid.
+     *
+     * @param panel         the {@code FunctionInputsPanel} which has to be updated when the values changed.
+     * @param previewStride the distance between two evaluated samples of a coarse preview published first,
+     *                      or 1 for no preview
+     * @see GraphEvaluationWorker
+     * @see FunctionInputsPanel#updateInput(FunctionTextInputComponent)
+     */
+    private void evaluate(FunctionInputsPanel panel, int previewStride) {
+        String expression = textField.getText();
+        if (evaluation != null && !evaluation.isCancelled() && expression.equals(evaluatedExpression)) {
+            return;
+        }
+        if (evaluation != null) {
+            evaluation.cancel(true);
+            evaluation = null;
+            evaluatedExpression = null;
+        }
+        CompiledExpression compiled;
+        try {
+            compiled = ExpressionCompiler.compile(expression);
+        } catch (IllegalArgumentException iaex) {
+            graph.setExpression(expression);
+            textField.setBackground(ConfigLoader.getColor("color.inputError"));
+            panel.updateInput(this);
+            return;
+        }
+        evaluation = new GraphEvaluationWorker(graph, expression, compiled, previewStride,
+                () -> panel.updateInput(this),
+                error -> {
+                    textField.setBackground(error == null ? Color.white : ConfigLoader.getColor("color.inputError"));
+                    panel.updateInput(this);
+                });
+        evaluatedExpression = expression;
+        evaluation.execute();
+    }
+
+    /**
+     * Stops the evaluations of the expression, once the component is deleted: the pending evaluation of the text
+     * typed, and the evaluation in the background, which would otherwise update a graph that is no longer drawn.
+     *
+     * @see FunctionInputsPanel#deleteInput(FunctionTextInputComponent)
+     */
+    public void dispose() {
+        liveTimer.stop();
+        if (evaluation != null) {
+            evaluation.cancel(true);
+            evaluation = null;
+            evaluatedExpression = null;
+        }
+    }
+
     /**
      * Sets the visibility of the {@code Graph} of the function
      *
@@ -199,7 +316,12 @@ public class FunctionTextInputComponent extends JPanel {
      * @see #textField
      */
     public void setExpression(String expression) {
-        textField.setText(expression);
+        settingExpression = true;
+        try {
+            textField.setText(expression);
+        } finally {
+            settingExpression = false;
+        }
         graph.setExpression(expression);
     }
 }
@@ -0,0 +1,178 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.CompiledExpression;
+import com.graphVisualizer.math.CurveSamples;
+import com.graphVisualizer.math.Graph;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Samples the expression of a {@code Graph} in the background, so that the Event Dispatch Thread is never blocked
+ * by the evaluation.
+ * <p>
+ * The samples are computed separately, and published to the {@code Graph} on the Event Dispatch Thread
+ * in one step, once they are complete. A cancelled worker stops sampling as soon as possible and publishes nothing,
+ * so an outdated expression can never replace a newer one.
+ * <p>
+ * With a preview stride, a coarse preview that evaluates only every {@code previewStride}-th step is published
+ * first, and then refined to full resolution.
+ * <p>
+ * A resampling worker re-evaluates the current expression of the {@code Graph} after its viewport changed,
+ * reusing the samples it already has. It publishes nothing if the samples of the graph were replaced in the
+ * meantime, since they are then newer than its own.
+ *
+ * @see Graph#sampleExpression(String, CompiledExpression, java.util.function.BooleanSupplier)
+ * @see Graph#setSamples(String, CurveSamples)
+ * @see Graph#samplePreview(CompiledExpression, int)
+ * @see FunctionTextInputComponent
+ */
+public class GraphEvaluationWorker extends SwingWorker<CurveSamples, CurveSamples> {
+
+    /**
+     * The graph whose values are replaced.
+     */
+    private final Graph graph;
+
+    /**
+     * The source of {@link #compiled}, stored in the graph along with the values.
+     */
+    private final String expression;
+
+    /**
+     * The expression to be sampled.
+     */
+    private final CompiledExpression compiled;
+
+    /**
+     * The distance between two evaluated samples of the preview, or 1 for no preview.
+     */
+    private final int previewStride;
+
+    /**
+     * Called on the Event Dispatch Thread once the preview is published.
+     */
+    private final Runnable onPreview;
+
+    /**
+     * The samples a resampling worker reuses, and expects to replace; {@code null} for other workers.
+     */
+    private final CurveSamples previous;
+
+    /**
+     * Called on the Event Dispatch Thread when the worker finished without being cancelled:
+     * with {@code null} once the values are published, or with the evaluation error.
+     */
+    private final Consumer<IllegalArgumentException> onDone;
+
+    /**
+     * Constructs a worker; {@link #execute()} starts it.
+     *
+     * @param graph      the graph whose values are replaced
+     * @param expression the source of the compiled expression
+     * @param compiled   the expression to be sampled
+     * @param onDone     called on the Event Dispatch Thread with {@code null} on success, or with the evaluation error
+     */
+    public GraphEvaluationWorker(Graph graph, String expression, CompiledExpression compiled,
+                                 Consumer<IllegalArgumentException> onDone) {
+        this(graph, expression, compiled, 1, () -> { }, onDone);
+    }
+
+    /**
+     * Constructs a worker that publishes a coarse preview before the full resolution samples;
+     * {@link #execute()} starts it.
+     *
+     * @param graph         the graph whose values are replaced
+     * @param expression    the source of the compiled expression
+     * @param compiled      the expression to be sampled
+     * @param previewStride the distance between two evaluated samples of the preview, or 1 for no preview
+     * @param onPreview     called on the Event Dispatch Thread once the preview is published
+     * @param onDone        called on the Event Dispatch Thread with {@code null} on success, or with the evaluation
+     *                      error
+     */
+    public GraphEvaluationWorker(Graph graph, String expression, CompiledExpression compiled, int previewStride,
+                                 Runnable onPreview, Consumer<IllegalArgumentException> onDone) {
+        this(graph, expression, compiled, previewStride, onPreview, null, onDone);
+    }
+
+    private GraphEvaluationWorker(Graph graph, String expression, CompiledExpression compiled, int previewStride,
+                                  Runnable onPreview, CurveSamples previous,
+                                  Consumer<IllegalArgumentException> onDone) {
+        this.graph = graph;
+        this.expression = expression;
+        this.compiled = compiled;
+        this.previewStride = previewStride;
+        this.onPreview = onPreview;
+        this.previous = previous;
+        this.onDone = onDone;
+    }
+
+    /**
+     * Creates a worker that samples the range of the current viewport of the graph again, reusing its current
+     * samples; {@link #execute()} starts it.
+     *
+     * @param graph      the graph whose viewport changed
+     * @param expression the current expression of the graph
+     * @param compiled   the compiled expression
+     * @param onDone     called on the Event Dispatch Thread with {@code null} once the samples are published,
+     *                   or with the evaluation error
+     * @return the worker
+     * @see Graph#resample(CompiledExpression, CurveSamples, java.util.function.BooleanSupplier)
+     */
+    public static GraphEvaluationWorker resampling(Graph graph, String expression, CompiledExpression compiled,
+                                                   Consumer<IllegalArgumentException> onDone) {
+        return new GraphEvaluationWorker(graph, expression, compiled, 1, () -> { }, graph.getSamples(), onDone);
+    }
+
+    /**
+     * Samples the expression, off the Event Dispatch Thread.
+     *
+     * @return the samples
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    @Override
+    protected CurveSamples doInBackground() throws IllegalArgumentException {
+        if (previous != null) {
+            return graph.resample(compiled, previous, this::isCancelled);
+        }
+        if (previewStride > 1) {
+            publish(graph.samplePreview(compiled, previewStride));
+        }
+        return graph.sampleExpression(expression, compiled, this::isCancelled);
+    }
+
+    /**
+     * Publishes the preview to the graph, unless the worker was cancelled or already finished.
+     *
+     * @param previews the previews published so far; only the last one is used
+     */
+    @Override
+    protected void process(List<CurveSamples> previews) {
+        if (isDone()) return;
+        graph.setSamples(expression, previews.get(previews.size() - 1));
+        onPreview.run();
+    }
+
+    /**
+     * Publishes the samples to the graph, unless the worker was cancelled, or the samples it resampled were
+     * replaced in the meantime.
+     */
+    @Override
+    protected void done() {
+        if (isCancelled() || (previous != null && graph.getSamples() != previous)) return;
+        try {
+            graph.setSamples(expression, get());
+            onDone.accept(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException iaex) {
+                onDone.accept(iaex);
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+}
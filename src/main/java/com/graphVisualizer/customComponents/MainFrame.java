@@ -7,6 +7,12 @@ import com.graphVisualizer.utils.GraphSerializer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 
 /**
@@ -84,12 +90,24 @@ public class MainFrame extends JFrame {
         JPanel optionsPanel = new JPanel();
         CustomButton backButton = new CustomButton("Back to menu");
         CustomButton saveButton = new CustomButton("Save graphs");
+        CustomButton exportButton = new CustomButton("Export SVG");
+        CustomToggleButton fastButton = new CustomToggleButton("Fast");
+        fastButton.setSelected(drawingPane.getRenderingProfile() == RenderingProfile.FAST);
+        CustomToggleButton diagnosticsButton = new CustomToggleButton("Stats");
+        diagnosticsButton.setSelected(drawingPane.isDiagnosticsVisible());
 
         backButton.addActionListener(e -> backToMenu());
         saveButton.addActionListener(e -> saveGraphs());
+        exportButton.addActionListener(e -> exportSvg(drawingPane));
+        fastButton.addActionListener(e -> drawingPane.setRenderingProfile(
+                fastButton.isSelected() ? RenderingProfile.FAST : RenderingProfile.QUALITY));
+        diagnosticsButton.addActionListener(e -> drawingPane.setDiagnosticsVisible(diagnosticsButton.isSelected()));
 
         optionsPanel.add(backButton);
         optionsPanel.add(saveButton);
+        optionsPanel.add(exportButton);
+        optionsPanel.add(fastButton);
+        optionsPanel.add(diagnosticsButton);
 
         emptyScene.add(functionInputsPanel, BorderLayout.WEST);
         emptyScene.add(drawingPane, BorderLayout.CENTER);
@@ -143,6 +161,24 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * Asks for a file, and writes the scene of the {@code DrawingPane} into it as an SVG document.
+     *
+     * @param drawingPane the pane to be exported
+     * @see DrawingPane#exportSvg(Writer)
+     */
+    private void exportSvg(DrawingPane drawingPane) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("graphs.svg"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try (Writer writer = new BufferedWriter(new FileWriter(chooser.getSelectedFile(), StandardCharsets.UTF_8))) {
+            drawingPane.exportSvg(writer);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Error exporting graphs: " + e.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Evaluates the given mathematical expression utilizing a custom evaluator with predefined variables.
      * Throws an {@code IllegalArgumentException} if the expression is invalid.
@@ -0,0 +1,27 @@
+package com.graphVisualizer.customComponents;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a paint of the {@code DrawingPane}.
+ *
+ * @see DrawingPane#paintComponent(java.awt.Graphics)
+ */
+@Name("com.graphVisualizer.Paint")
+@Label("Drawing Pane Paint")
+@Category({"Graph Visualizer", "Rendering"})
+@Description("The grid and the layers of the visible curves composited")
+@StackTrace(false)
+final class PaintEvent extends Event {
+
+    @Label("Graphs")
+    int graphs;
+
+    @Label("Segments")
+    int segments;
+}
@@ -0,0 +1,95 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.CurveSamples;
+import com.graphVisualizer.math.Graph;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Re-samples several graphs in the background through one shared {@code EvaluationPlan}, after their viewport
+ * changed, so that the sub-expressions they have in common are evaluated only once per x.
+ * <p>
+ * The graphs must sample the same range at a fixed step. Like a resampling {@code GraphEvaluationWorker}, the
+ * samples are published to the graphs on the Event Dispatch Thread once they are all complete, and a cancelled
+ * worker publishes nothing. A graph whose samples were replaced in the meantime, or whose expression is invalid
+ * or cannot be evaluated, keeps its samples.
+ *
+ * @see Graph#sampleTogether(List, List, CurveSamples[], java.util.function.BooleanSupplier)
+ * @see GraphEvaluationWorker#resampling(Graph, String, com.graphVisualizer.math.CompiledExpression, Consumer)
+ */
+public class PlanEvaluationWorker extends SwingWorker<CurveSamples[], Void> {
+
+    /**
+     * The graphs to be re-sampled.
+     */
+    private final List<Graph> graphs;
+
+    /**
+     * The current expression of each graph, in the same order.
+     */
+    private final List<String> expressions;
+
+    /**
+     * The samples each graph had when the worker was created, which the worker expects to replace.
+     */
+    private final List<CurveSamples> previous;
+
+    /**
+     * Called on the Event Dispatch Thread when the worker finished without being cancelled, with the graphs whose
+     * samples were published.
+     */
+    private final Consumer<List<Graph>> onDone;
+
+    /**
+     * Constructs a worker over the current expressions and samples of the graphs; {@link #execute()} starts it.
+     *
+     * @param graphs the graphs to be re-sampled, which all sample the same range at a fixed step
+     * @param onDone called on the Event Dispatch Thread with the graphs whose samples were published
+     */
+    public PlanEvaluationWorker(List<Graph> graphs, Consumer<List<Graph>> onDone) {
+        this.graphs = List.copyOf(graphs);
+        this.expressions = this.graphs.stream().map(Graph::getExpression).toList();
+        this.previous = this.graphs.stream().map(Graph::getSamples).toList();
+        this.onDone = onDone;
+    }
+
+    /**
+     * Samples the expressions together, off the Event Dispatch Thread.
+     *
+     * @return the samples of each graph, or {@code null} for a graph whose expression failed
+     */
+    @Override
+    protected CurveSamples[] doInBackground() {
+        CurveSamples[] samples = new CurveSamples[graphs.size()];
+        Graph.sampleTogether(graphs, expressions, samples, this::isCancelled);
+        return samples;
+    }
+
+    /**
+     * Publishes the samples to the graphs, unless the worker was cancelled. The graphs whose samples were
+     * replaced in the meantime, or whose expression failed, are skipped.
+     */
+    @Override
+    protected void done() {
+        if (isCancelled()) return;
+        try {
+            CurveSamples[] samples = get();
+            List<Graph> published = new ArrayList<>();
+            for (int i = 0; i < graphs.size(); i++) {
+                Graph graph = graphs.get(i);
+                if (samples[i] == null || graph.getSamples() != previous.get(i)) continue;
+                graph.setSamples(expressions.get(i), samples[i]);
+                published.add(graph);
+            }
+            onDone.accept(published);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.awt.*;
+import java.util.Locale;
+
+/**
+ * How the {@code DrawingPane} trades the quality of the drawing for speed.
+ * <p>
+ * Antialiased stroking is the most expensive part of a frame, so the fast profile draws aliased curves, with pure
+ * stroke control so that the vertices are not normalized either, at half the horizontal level of detail. The
+ * layers it moves during a gesture are not interpolated. The quality profile antialiases everything, keeps every
+ * pixel of the curves, and interpolates the layers it moves until they are drawn again at full resolution once
+ * the view settles.
+ *
+ * @see DrawingPane#setRenderingProfile(RenderingProfile)
+ */
+public enum RenderingProfile {
+    FAST(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_STROKE_PURE, RenderingHints.VALUE_RENDER_SPEED,
+            RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, 2),
+    QUALITY(RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_STROKE_DEFAULT,
+            RenderingHints.VALUE_RENDER_QUALITY, RenderingHints.VALUE_INTERPOLATION_BILINEAR, 1);
+
+    private final Object antialiasing;
+    private final Object strokeControl;
+    private final Object rendering;
+    private final Object interpolation;
+
+    /**
+     * The width, in pixels, of the columns the curves are decimated into.
+     */
+    private final float columnWidth;
+
+    RenderingProfile(Object antialiasing, Object strokeControl, Object rendering, Object interpolation,
+                     float columnWidth) {
+        this.antialiasing = antialiasing;
+        this.strokeControl = strokeControl;
+        this.rendering = rendering;
+        this.interpolation = interpolation;
+        this.columnWidth = columnWidth;
+    }
+
+    /**
+     * Retrieves the profile configured with the key "render.profile": {@code fast} or {@code quality}.
+     *
+     * @return the configured profile
+     * @throws IllegalArgumentException if the configured profile is unknown
+     * @see ConfigLoader
+     */
+    public static RenderingProfile fromConfig() throws IllegalArgumentException {
+        String profile = ConfigLoader.get("render.profile");
+        for (RenderingProfile value : values()) {
+            if (value.name().equals(profile.toUpperCase(Locale.ROOT))) return value;
+        }
+        throw new IllegalArgumentException("Unknown rendering profile: " + profile);
+    }
+
+    /**
+     * Sets the rendering hints of the profile, without allocating.
+     *
+     * @param g2 the graphics to be configured
+     */
+    public void apply(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, rendering);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, strokeControl);
+    }
+
+    /**
+     * @return the width, in pixels, of the columns the curves are decimated into
+     * @see com.graphVisualizer.math.Graph#setColumnWidth(float)
+     */
+    public float getColumnWidth() {
+        return columnWidth;
+    }
+}
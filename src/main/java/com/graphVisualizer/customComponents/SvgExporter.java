@@ -0,0 +1,129 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the grid and the curves of graphs as an SVG document.
+ * <p>
+ * Every curve is a single {@code <path>}, made of the decimated points of the path of its graph, so the size of
+ * the document is bounded by the width of the screen, like the number of vertices drawn by the
+ * {@code DrawingPane}, and not by the number of samples. The document is streamed to the writer point by point:
+ * the coordinates are rounded to hundredths of a pixel and written digit by digit, so neither a DOM nor a
+ * {@code String} of the document is built.
+ *
+ * @see Graph#getPath()
+ * @see DrawingPane#exportSvg(Writer)
+ */
+public final class SvgExporter {
+
+    /**
+     * The colors of the background and of the axes, loaded from the keys "color.dp.background" and "color.grid".
+     */
+    private final Color background = ConfigLoader.getColor("color.dp.background");
+    private final Color gridColor = ConfigLoader.getColor("color.grid");
+
+    /**
+     * The current point, transformed in place.
+     */
+    private final float[] point = new float[6];
+
+    /**
+     * The digits of the number being written, from the last one.
+     */
+    private final char[] digits = new char[24];
+
+    /**
+     * Writes the document of the axes and the visible curves of the graphs. The writer is neither buffered
+     * nor closed here.
+     *
+     * @param out       the writer of the document
+     * @param viewport  the part of the plane drawn, and the size of the document
+     * @param graphs    the graphs, whose curves are drawn in this order
+     * @param transform the transformation from the coordinates of the paths to the ones of {@code viewport}
+     * @throws IOException if the writer fails
+     */
+    public void write(Writer out, Viewport viewport, List<Graph> graphs, AffineTransform transform)
+            throws IOException {
+        int width = viewport.width();
+        int height = viewport.height();
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+        out.write("<rect width=\"100%\" height=\"100%\" fill=\"" + hex(background) + "\"/>\n");
+        long originX = Math.round(viewport.originX());
+        long originY = Math.round(viewport.originY());
+        out.write("<path fill=\"none\" stroke=\"" + hex(gridColor) + "\" d=\"M" + originX + " 0V" + height
+                + "M0 " + originY + "H" + width + "\"/>\n");
+        for (Graph graph : graphs) {
+            if (graph.isVisible() && graph.getColor() != null) {
+                writeCurve(out, graph.getPath(), graph.getColor(), transform);
+            }
+        }
+        out.write("</svg>\n");
+    }
+
+    /**
+     * Writes a curve as a path with one command per run of connected segments.
+     */
+    private void writeCurve(Writer out, Path2D path, Color color, AffineTransform transform) throws IOException {
+        out.write("<path fill=\"none\" stroke=\"" + hex(color) + "\" stroke-linejoin=\"round\" d=\"");
+        boolean line = false;
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            // The curves are polylines: every segment is a move or a line
+            int type = it.currentSegment(point);
+            transform.transform(point, 0, point, 0, 1);
+            if (type == PathIterator.SEG_MOVETO) {
+                out.write('M');
+                line = false;
+            } else if (!line) {
+                out.write('L');
+                line = true;
+            } else {
+                out.write(' ');
+            }
+            writeNumber(out, point[0]);
+            out.write(' ');
+            writeNumber(out, point[1]);
+        }
+        out.write("\"/>\n");
+    }
+
+    /**
+     * Writes a number rounded to two decimals, without trailing zeros.
+     */
+    private void writeNumber(Writer out, float value) throws IOException {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            out.write('-');
+            hundredths = -hundredths;
+        }
+        int length = 0;
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            if (fraction % 10 != 0) digits[length++] = (char) ('0' + fraction % 10);
+            digits[length++] = (char) ('0' + fraction / 10);
+            digits[length++] = '.';
+        }
+        long integer = hundredths / 100;
+        do {
+            digits[length++] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+        while (length > 0) {
+            out.write(digits[--length]);
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%06x", color.getRGB() & 0xffffff);
+    }
+}
@@ -0,0 +1,234 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Draws the grid and the curves of graphs into a large offscreen image, on several threads.
+ * <p>
+ * A single {@code Graphics2D} rasterizes on one thread, so the image is cut into tiles of {@code tileSize}
+ * pixels, which are drawn into images of their own by the workers of a {@code ForkJoinPool}, and then copied
+ * into their place in the result. The segments of the curves are sorted into the tiles they cross beforehand,
+ * on the calling thread: every tile only strokes its own part of the curves, and the workers never touch the
+ * graphs. Every tile is drawn at its own offset with the same coordinates, so the seams are invisible.
+ * <p>
+ * The curves are the paths of the graphs, as calculated for the viewport of the image, so they are the same
+ * as in the {@code DrawingPane}, and nothing here depends on the Event Dispatch Thread. Images of at most one
+ * tile, and rasterizers with a parallelism of 1, are drawn on the calling thread.
+ *
+ * @see Graph#calculateGraphCurve(int, int)
+ * @see DrawingPane
+ */
+public final class TiledRasterizer {
+
+    /**
+     * The pixels a stroked curve may cover beyond its segments, joins included.
+     */
+    private static final int STROKE_MARGIN = 8;
+
+    /**
+     * The rasterizer configured with the keys "render.tileSize" and "render.parallelism".
+     * A parallelism of 0 uses one worker per available processor.
+     *
+     * @see ConfigLoader
+     */
+    private static final TiledRasterizer DEFAULT = new TiledRasterizer(
+            ConfigLoader.getInt("render.tileSize"), ConfigLoader.getInt("render.parallelism"));
+
+    /**
+     * The width and height of a tile, in pixels.
+     */
+    private final int tileSize;
+
+    /**
+     * The pool drawing the tiles, or {@code null} when drawing is sequential.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The colors of the background and of the axes, loaded from the keys "color.dp.background" and "color.grid".
+     */
+    private final Color background = ConfigLoader.getColor("color.dp.background");
+    private final Color gridColor = ConfigLoader.getColor("color.grid");
+
+    /**
+     * Constructs a rasterizer.
+     *
+     * @param tileSize    the width and height of a tile, in pixels
+     * @param parallelism the number of workers, or 0 for one per available processor
+     * @throws IllegalArgumentException if {@code tileSize} is not positive or {@code parallelism} is negative
+     */
+    public TiledRasterizer(int tileSize, int parallelism) throws IllegalArgumentException {
+        if (tileSize <= 0 || parallelism < 0) {
+            throw new IllegalArgumentException("Invalid rasterizer configuration: tile size " + tileSize
+                    + ", parallelism " + parallelism);
+        }
+        int workers = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.tileSize = tileSize;
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+    }
+
+    /**
+     * @return the rasterizer configured in {@code config.properties}
+     */
+    public static TiledRasterizer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Draws the axes and the visible curves of the graphs over the background, at the size of the viewport.
+     * <p>
+     * The curves have to be calculated for {@code viewport} first: the graphs are read on the calling thread
+     * only, and not modified.
+     *
+     * @param viewport the part of the plane drawn, and the size of the image
+     * @param graphs   the graphs, whose curves are drawn in this order
+     * @param profile  the rendering hints of the tiles
+     * @return the image
+     * @see Graph#setViewport(Viewport)
+     */
+    public BufferedImage render(Viewport viewport, List<Graph> graphs, RenderingProfile profile) {
+        int width = viewport.width();
+        int height = viewport.height();
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+
+        List<Graph> visible = new ArrayList<>();
+        for (Graph graph : graphs) {
+            if (graph.isVisible()) visible.add(graph);
+        }
+        Path2D.Float[][] curves = new Path2D.Float[visible.size()][];
+        for (int k = 0; k < curves.length; k++) {
+            curves[k] = split(visible.get(k).getPath(), columns, rows);
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int originX = (int) Math.round(viewport.originX());
+        int originY = (int) Math.round(viewport.originY());
+        List<Callable<Void>> tiles = new ArrayList<>(columns * rows);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int tile = row * columns + column;
+                Rectangle bounds = new Rectangle(column * tileSize, row * tileSize,
+                        Math.min(tileSize, width - column * tileSize), Math.min(tileSize, height - row * tileSize));
+                tiles.add(() -> {
+                    BufferedImage drawn = drawTile(bounds, originX, originY, visible, curves, tile, profile);
+                    synchronized (image) {
+                        image.getRaster().setRect(bounds.x, bounds.y, drawn.getRaster().createChild(
+                                STROKE_MARGIN, STROKE_MARGIN, bounds.width, bounds.height, 0, 0, null));
+                    }
+                    return null;
+                });
+            }
+        }
+        run(tiles);
+        return image;
+    }
+
+    /**
+     * Sorts the segments of a curve into the tiles they may be drawn on.
+     *
+     * @return the part of the curve of each tile, by rows, or {@code null} for the tiles it does not cross
+     */
+    private Path2D.Float[] split(Path2D path, int columns, int rows) {
+        Path2D.Float[] parts = new Path2D.Float[columns * rows];
+        // The last point added to each part, so that the segments that follow each other stay connected
+        float[] lastX = new float[parts.length];
+        float[] lastY = new float[parts.length];
+        float[] point = new float[6];
+        float x = 0, y = 0;
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(point);
+            if (type == PathIterator.SEG_LINETO) {
+                int left = Math.max(0, cell(Math.min(x, point[0]) - STROKE_MARGIN));
+                int right = Math.min(columns - 1, cell(Math.max(x, point[0]) + STROKE_MARGIN));
+                int top = Math.max(0, cell(Math.min(y, point[1]) - STROKE_MARGIN));
+                int bottom = Math.min(rows - 1, cell(Math.max(y, point[1]) + STROKE_MARGIN));
+                for (int row = top; row <= bottom; row++) {
+                    for (int column = left; column <= right; column++) {
+                        int tile = row * columns + column;
+                        if (parts[tile] == null) parts[tile] = new Path2D.Float();
+                        if (parts[tile].getCurrentPoint() == null || lastX[tile] != x || lastY[tile] != y) {
+                            parts[tile].moveTo(x, y);
+                        }
+                        parts[tile].lineTo(point[0], point[1]);
+                        lastX[tile] = point[0];
+                        lastY[tile] = point[1];
+                    }
+                }
+            }
+            // The curves are polylines: every segment is a move or a line
+            x = point[0];
+            y = point[1];
+        }
+        return parts;
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / tileSize);
+    }
+
+    /**
+     * Draws one tile into an image of its own, on a worker thread.
+     * <p>
+     * The image has a border of {@value #STROKE_MARGIN} pixels around the tile, which is not copied: aliased
+     * lines are rasterized from where they enter the clip, so the pixels next to its edge may differ from the
+     * ones of a larger image.
+     */
+    private BufferedImage drawTile(Rectangle bounds, int originX, int originY, List<Graph> graphs,
+                                   Path2D.Float[][] curves, int tile, RenderingProfile profile) {
+        int width = bounds.width + 2 * STROKE_MARGIN;
+        int height = bounds.height + 2 * STROKE_MARGIN;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        profile.apply(g2);
+        g2.setColor(background);
+        g2.fillRect(0, 0, width, height);
+        g2.translate(STROKE_MARGIN - bounds.x, STROKE_MARGIN - bounds.y);
+        g2.setColor(gridColor);
+        g2.drawLine(originX, bounds.y - STROKE_MARGIN, originX, bounds.y + bounds.height + STROKE_MARGIN);
+        g2.drawLine(bounds.x - STROKE_MARGIN, originY, bounds.x + bounds.width + STROKE_MARGIN, originY);
+        for (int k = 0; k < curves.length; k++) {
+            if (curves[k][tile] == null) continue;
+            g2.setColor(graphs.get(k).getColor());
+            g2.draw(curves[k][tile]);
+        }
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Draws the tiles on the pool, or on the calling thread when there is only one.
+     */
+    private void run(List<Callable<Void>> tiles) {
+        try {
+            if (pool == null || tiles.size() == 1) {
+                for (Callable<Void> tile : tiles) {
+                    tile.call();
+                }
+                return;
+            }
+            for (Future<Void> future : pool.invokeAll(tiles)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+        } catch (Exception e) {
+            throw e instanceof RuntimeException runtime ? runtime : new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.graphVisualizer.math;
+
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Samples the expression densely where the curve bends or breaks, and sparsely where it is flat.
+ * <p>
+ * The range is first sampled every {@code initialSpacing} pixels. Then the interval whose midpoint is the farthest
+ * from the chord between its ends, measured in pixels, is split at its midpoint, until every interval is within
+ * {@code tolerance} pixels of its chord, or the number of points reaches {@code maxPoints}. An interval whose ends
+ * and midpoint are not all finite, or all non-finite, is split as well, to find the edge of the domain or the
+ * asymptote. Intervals narrower than {@value #MIN_SPACING} pixels are never split.
+ * <p>
+ * Since the worst interval is always split first, the hard cap keeps the points where they matter most.
+ *
+ * @see FixedStepSampling
+ */
+public final class AdaptiveSampling implements SamplingStrategy {
+
+    /**
+     * The width, in pixels, below which an interval is not split any more.
+     */
+    static final double MIN_SPACING = 1.0 / 16;
+
+    /**
+     * The largest acceptable distance, in pixels, between the curve and a drawn segment.
+     */
+    private final double tolerance;
+
+    /**
+     * The distance, in pixels, between two points of the initial sampling.
+     */
+    private final double initialSpacing;
+
+    /**
+     * The largest number of points of a sampling.
+     */
+    private final int maxPoints;
+
+    /**
+     * Constructs an adaptive strategy.
+     *
+     * @param tolerance      the largest acceptable distance, in pixels, between the curve and a drawn segment
+     * @param initialSpacing the distance, in pixels, between two points of the initial sampling
+     * @param maxPoints      the largest number of points of a sampling
+     * @throws IllegalArgumentException if a parameter is not positive, or {@code maxPoints} is less than 2
+     */
+    public AdaptiveSampling(double tolerance, double initialSpacing, int maxPoints) throws IllegalArgumentException {
+        if (!(tolerance > 0) || !(initialSpacing > 0) || maxPoints < 2) {
+            throw new IllegalArgumentException("Invalid adaptive sampling configuration: tolerance " + tolerance
+                    + ", initial spacing " + initialSpacing + ", max points " + maxPoints);
+        }
+        this.tolerance = tolerance;
+        this.initialSpacing = initialSpacing;
+        this.maxPoints = maxPoints;
+    }
+
+    @Override
+    public CurveSamples sample(CompiledExpression expression, SamplingRange range, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        double begin = range.begin();
+        double span = range.end() - begin;
+        int intervals = (int) Math.min(maxPoints - 1, Math.max(1, Math.ceil(span * range.scale() / initialSpacing)));
+
+        // The points form a linked list in increasing order of x, so that a midpoint is inserted in constant time
+        double[] x = new double[maxPoints];
+        double[] y = new double[maxPoints];
+        int[] next = new int[maxPoints];
+        int count = 0;
+        for (int i = 0; i <= intervals; i++) {
+            x[count] = i == intervals ? range.end() : begin + span * i / intervals;
+            y[count] = expression.evaluate(x[count]);
+            next[count] = count + 1;
+            count++;
+        }
+        next[count - 1] = -1;
+
+        PriorityQueue<Split> splits = new PriorityQueue<>();
+        for (int i = 0; i < intervals && !cancelled.getAsBoolean(); i++) {
+            enqueue(splits, expression, range.scale(), i, i + 1, x, y);
+        }
+        while (count < maxPoints && !splits.isEmpty() && !cancelled.getAsBoolean()) {
+            Split split = splits.poll();
+            int middle = count++;
+            x[middle] = split.x;
+            y[middle] = split.y;
+            next[middle] = next[split.left];
+            next[split.left] = middle;
+            enqueue(splits, expression, range.scale(), split.left, middle, x, y);
+            enqueue(splits, expression, range.scale(), middle, next[middle], x, y);
+        }
+
+        double[] sortedX = new double[count];
+        double[] sortedY = new double[count];
+        for (int i = 0, point = 0; i < count; i++, point = next[point]) {
+            sortedX[i] = x[point];
+            sortedY[i] = y[point];
+        }
+        return new CurveSamples(range, sortedX, sortedY);
+    }
+
+    /**
+     * Evaluates the midpoint of the interval between two points, and queues the interval if it has to be split.
+     */
+    private void enqueue(PriorityQueue<Split> splits, CompiledExpression expression, double scale,
+                         int left, int right, double[] x, double[] y) {
+        if ((x[right] - x[left]) * scale < 2 * MIN_SPACING) return;
+        double middle = (x[left] + x[right]) / 2;
+        double value = expression.evaluate(middle);
+        double error = error(y[left], value, y[right], scale);
+        if (error > tolerance) {
+            splits.add(new Split(left, middle, value, error));
+        }
+    }
+
+    /**
+     * Estimates how far, in pixels, the curve is from the chord between two points.
+     *
+     * @param left   the value at the left end
+     * @param middle the value at the midpoint
+     * @param right  the value at the right end
+     * @param scale  the number of pixels per unit
+     * @return the distance between the midpoint and the chord; infinite if only some of the values are finite,
+     * 0 if none of them are
+     */
+    static double error(double left, double middle, double right, double scale) {
+        boolean leftFinite = Double.isFinite(left);
+        boolean middleFinite = Double.isFinite(middle);
+        boolean rightFinite = Double.isFinite(right);
+        if (leftFinite && middleFinite && rightFinite) {
+            return Math.abs(middle - (left + right) / 2) * scale;
+        }
+        return leftFinite || middleFinite || rightFinite ? Double.POSITIVE_INFINITY : 0;
+    }
+
+    /**
+     * A midpoint that should be inserted after the point {@code left}; the largest error comes first.
+     */
+    private record Split(int left, double x, double y, double error) implements Comparable<Split> {
+        @Override
+        public int compareTo(Split other) {
+            return Double.compare(other.error, error);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.graphVisualizer.math;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates an expression tree into a hidden JVM class implementing {@code CompiledExpression}.
+ * <p>
+ * The formula becomes straight-line bytecode in {@code evaluate(double)}, and {@code sample} runs the
+ * sampling loop inside the generated class, so the JIT sees a single monomorphic call and can inline
+ * the whole formula into the loop.
+ * <p>
+ * The generated code calls the very same methods as the interpreter ({@code Math} and the static helpers of
+ * {@code MathOperation}), so results are bit-for-bit identical to {@code CustomEvaluator}.
+ * Nodes the emitter does not know are delegated to their interpreted {@code evaluate} method, and if the
+ * class cannot be generated at all (for example because the method would exceed 64 KB) the interpreted tree
+ * is returned instead.
+ *
+ * @see ExpressionCompiler
+ * @see ClassFileWriter
+ */
+final class BytecodeCompiler {
+
+    private static final String CLASS_NAME = "com/graphVisualizer/math/GeneratedExpression";
+    private static final String NODE = "com/graphVisualizer/math/ExpressionNode";
+    private static final String NODE_ARRAY = "[L" + NODE + ";";
+    private static final String OPERATION = "com/graphVisualizer/math/MathOperation";
+    private static final String MATH = "java/lang/Math";
+    private static final String UNARY = "(D)D";
+    private static final String BINARY = "(DD)D";
+
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int DLOAD_1 = 0x27;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int AALOAD = 0x32;
+    private static final int DSTORE = 0x39;
+    private static final int ISTORE = 0x36;
+    private static final int DASTORE = 0x52;
+    private static final int ICONST_0 = 0x03;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DDIV = 0x6f;
+    private static final int DREM = 0x73;
+    private static final int DNEG = 0x77;
+    private static final int IF_ICMPGE = 0xa2;
+    private static final int GOTO = 0xa7;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int ARRAYLENGTH = 0xbe;
+
+    private static final int FRAME_FULL = 255;
+    private static final int FRAME_SAME_EXTENDED = 251;
+    private static final int ITEM_INTEGER = 1;
+    private static final int ITEM_DOUBLE = 3;
+    private static final int ITEM_OBJECT = 7;
+
+    private final ClassFileWriter writer = new ClassFileWriter();
+
+    /**
+     * The subtrees that are evaluated through the interpreter, passed to the generated constructor.
+     */
+    private final List<ExpressionNode> fallbacks = new ArrayList<>();
+
+    private BytecodeCompiler() {
+    }
+
+    /**
+     * Compiles the expression tree into a generated class.
+     *
+     * @param root the root of the expression tree
+     * @return an instance of the generated class, or {@code root} itself if no class could be generated
+     */
+    static CompiledExpression compile(ExpressionNode root) {
+        try {
+            return new BytecodeCompiler().generate(root);
+        } catch (ClassFileWriter.LimitExceededException | ReflectiveOperationException | LinkageError e) {
+            return root;
+        }
+    }
+
+    private CompiledExpression generate(ExpressionNode root) throws ReflectiveOperationException {
+        writer.addField(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL, "fallbacks", NODE_ARRAY);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "(" + NODE_ARRAY + ")V", constructor());
+        ClassFileWriter.Code evaluate = new ClassFileWriter.Code(3);
+        emit(evaluate, root);
+        evaluate.op(DRETURN, -2);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, "evaluate", UNARY, evaluate);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "sample", "(DD[D)V", sample());
+        byte[] bytes = writer.toByteArray(ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER, CLASS_NAME,
+                "java/lang/Object", "com/graphVisualizer/math/CompiledExpression");
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        try {
+            return (CompiledExpression) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, ExpressionNode[].class))
+                    .invoke((Object) fallbacks.toArray(new ExpressionNode[0]));
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Generates the constructor, which stores the interpreted fallback subtrees.
+     */
+    private ClassFileWriter.Code constructor() {
+        ClassFileWriter.Code code = new ClassFileWriter.Code(2);
+        code.op(ALOAD_0, 1)
+                .op2(INVOKESPECIAL, writer.methodRef("java/lang/Object", "<init>", "()V"), -1)
+                .op(ALOAD_0, 1)
+                .op(ALOAD_1, 1)
+                .op2(PUTFIELD, writer.fieldRef(CLASS_NAME, "fallbacks", NODE_ARRAY), -2)
+                .op(RETURN, 0);
+        return code;
+    }
+
+    /**
+     * Generates {@code sample(begin, step, values)}, the same loop {@code Graph} used to run:
+     * {@code x} starts at {@code begin} and is incremented by {@code step} after every sample.
+     * <p>
+     * Local variables: 0 {@code this}, 1 {@code begin}, 3 {@code step}, 5 {@code values}, 6 {@code x}, 8 {@code i}.
+     */
+    private ClassFileWriter.Code sample() {
+        ClassFileWriter.Code code = new ClassFileWriter.Code(9);
+        code.op(DLOAD_1, 2).op1(DSTORE, 6, -2)
+                .op(ICONST_0, 1).op1(ISTORE, 8, -1);
+        int loop = code.position();
+        code.op1(ILOAD, 8, 1).op1(ALOAD, 5, 1).op(ARRAYLENGTH, 0);
+        int exit = code.position();
+        code.op2(IF_ICMPGE, 0, -2)
+                .op1(ALOAD, 5, 1).op1(ILOAD, 8, 1)
+                .op(ALOAD_0, 1).op1(DLOAD, 6, 2)
+                .op2(INVOKEVIRTUAL, writer.methodRef(CLASS_NAME, "evaluate", UNARY), -1)
+                .op(DASTORE, -4)
+                .op1(DLOAD, 6, 2).op1(DLOAD, 3, 2).op(DADD, -2).op1(DSTORE, 6, -2);
+        code.iinc(8, 1);
+        int back = code.position();
+        code.op2(GOTO, loop - back, 0);
+        int end = code.position();
+        code.op(RETURN, 0);
+        code.patch2(exit, end - exit);
+
+        // Both branch targets see the same locals and an empty stack
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write(FRAME_FULL);
+        writeShort(frame, loop);
+        writeShort(frame, 6);
+        frame.write(ITEM_OBJECT);
+        writeShort(frame, writer.classRef(CLASS_NAME));
+        frame.write(ITEM_DOUBLE);
+        frame.write(ITEM_DOUBLE);
+        frame.write(ITEM_OBJECT);
+        writeShort(frame, writer.classRef("[D"));
+        frame.write(ITEM_DOUBLE);
+        frame.write(ITEM_INTEGER);
+        writeShort(frame, 0);
+        code.frame(frame.toByteArray());
+        ByteArrayOutputStream same = new ByteArrayOutputStream();
+        same.write(FRAME_SAME_EXTENDED);
+        writeShort(same, end - loop - 1);
+        code.frame(same.toByteArray());
+        return code;
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >> 8);
+        out.write(value);
+    }
+
+    /**
+     * Emits the code that pushes the value of {@code node} onto the operand stack.
+     * The variable {@code x} is in local variable slot 1.
+     */
+    private void emit(ClassFileWriter.Code code, ExpressionNode node) {
+        if (node instanceof ConstantNode constant) {
+            double value = constant.getValue();
+            if (Double.doubleToRawLongBits(value) == 0L) {
+                code.op(DCONST_0, 2);
+            } else if (value == 1.0) {
+                code.op(DCONST_1, 2);
+            } else {
+                code.op2(LDC2_W, writer.doubleConstant(value), 2);
+            }
+        } else if (node instanceof VariableNode) {
+            code.op(DLOAD_1, 2);
+        } else if (node instanceof OperationNode operation) {
+            emitOperation(code, operation);
+        } else {
+            emitFallback(code, node);
+        }
+    }
+
+    private void emitOperation(ClassFileWriter.Code code, OperationNode node) {
+        MathOperation operation = node.getOperation();
+        List<ExpressionNode> operands = node.getChildren();
+        switch (operation) {
+            case SUM, AVG -> {
+                code.op(DCONST_0, 2);
+                for (ExpressionNode operand : operands) {
+                    emit(code, operand);
+                    code.op(DADD, -2);
+                }
+                if (operation == MathOperation.AVG) {
+                    code.op2(LDC2_W, writer.doubleConstant(operands.size()), 2).op(DDIV, -2);
+                }
+            }
+            case MIN, MAX -> {
+                emit(code, operands.get(0));
+                for (ExpressionNode operand : operands.subList(1, operands.size())) {
+                    emit(code, operand);
+                    invokeStatic(code, MATH, operation == MathOperation.MIN ? "min" : "max", BINARY, -2);
+                }
+            }
+            case RANDOM -> invokeStatic(code, MATH, "random", "()D", 2);
+            default -> {
+                for (ExpressionNode operand : operands) {
+                    emit(code, operand);
+                }
+                emitApply(code, operation);
+            }
+        }
+        if (operation.isNanChecked()) {
+            int symbol = writer.string(operation.getSymbol());
+            code.op2(LDC_W, symbol, 1);
+            invokeStatic(code, OPERATION, "check", "(DLjava/lang/String;)D", -1);
+        }
+    }
+
+    /**
+     * Emits the instruction or the call for a unary or binary operation whose operands are on the stack.
+     */
+    private void emitApply(ClassFileWriter.Code code, MathOperation operation) {
+        switch (operation) {
+            case NEGATE -> code.op(DNEG, 0);
+            case ADD -> code.op(DADD, -2);
+            case SUBTRACT -> code.op(DSUB, -2);
+            case MULTIPLY -> code.op(DMUL, -2);
+            case MODULO -> code.op(DREM, -2);
+            case DIVIDE -> invokeStatic(code, OPERATION, "divide", BINARY, -2);
+            case POWER -> invokeStatic(code, MATH, "pow", BINARY, -2);
+            case ROUND -> invokeStatic(code, OPERATION, "round", UNARY, 0);
+            case LN -> invokeStatic(code, OPERATION, "ln", UNARY, 0);
+            case LOG -> invokeStatic(code, OPERATION, "log", UNARY, 0);
+            case SQRT -> invokeStatic(code, OPERATION, "sqrt", UNARY, 0);
+            default -> invokeStatic(code, MATH, operation.getSymbol(), UNARY, 0);
+        }
+    }
+
+    /**
+     * Emits {@code fallbacks[i].evaluate(x)} for a node the emitter cannot translate.
+     */
+    private void emitFallback(ClassFileWriter.Code code, ExpressionNode node) {
+        fallbacks.add(node);
+        code.op(ALOAD_0, 1)
+                .op2(GETFIELD, writer.fieldRef(CLASS_NAME, "fallbacks", NODE_ARRAY), 0)
+                .op2(SIPUSH, fallbacks.size() - 1, 1)
+                .op(AALOAD, -1)
+                .op(DLOAD_1, 2)
+                .op2(INVOKEVIRTUAL, writer.methodRef(NODE, "evaluate", UNARY), -1);
+    }
+
+    private void invokeStatic(ClassFileWriter.Code code, String owner, String name, String descriptor, int stackDelta) {
+        code.op2(INVOKESTATIC, writer.methodRef(owner, name, descriptor), stackDelta);
+    }
+}
@@ -0,0 +1,342 @@
+package com.graphVisualizer.math;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal writer for JVM class files, just large enough for the classes generated by {@code BytecodeCompiler}.
+ * <p>
+ * It manages the constant pool, fields and methods of a single class; the bytecode of each method
+ * is assembled with a {@link Code} builder, which also keeps track of the operand stack depth.
+ *
+ * @see BytecodeCompiler
+ */
+final class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    /**
+     * Class file version 62 (Java 18), the target of the project.
+     */
+    private static final int MAJOR_VERSION = 62;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * The largest number of constant pool entries, and the largest code length of a method.
+     */
+    private static final int LIMIT = 0xFFFF;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+
+    /**
+     * Thrown when the class would exceed one of the limits of the class file format,
+     * such as 64 KB of bytecode per method.
+     */
+    static final class LimitExceededException extends RuntimeException {
+        LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    int utf8(String value) {
+        return constant("U" + value, () -> {
+            pool.writeByte(CONSTANT_UTF8);
+            pool.writeUTF(value);
+        }, 1);
+    }
+
+    int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, () -> {
+            pool.writeByte(CONSTANT_CLASS);
+            pool.writeShort(name);
+        }, 1);
+    }
+
+    int string(String value) {
+        int utf8 = utf8(value);
+        return constant("S" + value, () -> {
+            pool.writeByte(CONSTANT_STRING);
+            pool.writeShort(utf8);
+        }, 1);
+    }
+
+    int doubleConstant(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return constant("D" + bits, () -> {
+            pool.writeByte(CONSTANT_DOUBLE);
+            pool.writeLong(bits);
+        }, 2);
+    }
+
+    int fieldRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int nameAndType = constant("N" + name + ":" + descriptor, () -> {
+            pool.writeByte(CONSTANT_NAME_AND_TYPE);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+        }, 1);
+        return constant("M" + tag + owner + "." + name + ":" + descriptor, () -> {
+            pool.writeByte(tag);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndType);
+        }, 1);
+    }
+
+    /**
+     * Returns the index of a constant pool entry, adding the entry if it is not in the pool yet.
+     *
+     * @param key   identifies the entry
+     * @param write writes the entry into the pool
+     * @param slots the number of pool slots taken by the entry
+     * @return the index of the entry
+     */
+    private int constant(String key, PoolEntry write, int slots) {
+        Integer index = poolIndex.get(key);
+        if (index != null) return index;
+        if (poolCount + slots > LIMIT) throw new LimitExceededException("Constant pool is too large");
+        try {
+            write.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        poolIndex.put(key, poolCount);
+        poolCount += slots;
+        return poolCount - slots;
+    }
+
+    @FunctionalInterface
+    private interface PoolEntry {
+        void write() throws IOException;
+    }
+
+    /**
+     * Adds a field without attributes.
+     */
+    void addField(int access, String name, String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fields.add(bytes.toByteArray());
+    }
+
+    /**
+     * Adds a method whose only attribute is its {@code Code}.
+     */
+    void addMethod(int access, String name, String descriptor, Code code) {
+        byte[] bytecode = code.bytes.toByteArray();
+        if (bytecode.length > LIMIT) throw new LimitExceededException("Method " + name + " is too large");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(1);
+            int stackMapName = code.stackMapFrames == 0 ? 0 : utf8("StackMapTable");
+            byte[] stackMap = code.stackMap.toByteArray();
+            out.writeShort(utf8("Code"));
+            out.writeInt(12 + bytecode.length + (code.stackMapFrames == 0 ? 0 : 8 + stackMap.length));
+            out.writeShort(code.maxStack);
+            out.writeShort(code.maxLocals);
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+            out.writeShort(0);
+            if (code.stackMapFrames == 0) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.writeShort(stackMapName);
+                out.writeInt(2 + stackMap.length);
+                out.writeShort(code.stackMapFrames);
+                out.write(stackMap);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        methods.add(bytes.toByteArray());
+    }
+
+    /**
+     * Assembles the class file.
+     *
+     * @param access     the access flags of the class
+     * @param thisClass  the internal name of the class
+     * @param superClass the internal name of the superclass
+     * @param interfaces the internal names of the implemented interfaces
+     * @return the bytes of the class file
+     */
+    byte[] toByteArray(int access, String thisClass, String superClass, String... interfaces) {
+        int thisIndex = classRef(thisClass);
+        int superIndex = classRef(superClass);
+        int[] interfaceIndexes = new int[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaceIndexes[i] = classRef(interfaces[i]);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(MAJOR_VERSION);
+            out.writeShort(poolCount);
+            out.write(poolBytes.toByteArray());
+            out.writeShort(access);
+            out.writeShort(thisIndex);
+            out.writeShort(superIndex);
+            out.writeShort(interfaceIndexes.length);
+            for (int index : interfaceIndexes) {
+                out.writeShort(index);
+            }
+            out.writeShort(fields.size());
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Builds the bytecode of one method and tracks the maximum operand stack depth, counted in slots
+     * ({@code double} values take two).
+     */
+    static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream stackMap = new ByteArrayOutputStream();
+        private int stackMapFrames;
+        private int stack;
+        private int maxStack;
+        private final int maxLocals;
+
+        /**
+         * @param maxLocals the number of local variable slots used by the method, parameters included
+         */
+        Code(int maxLocals) {
+            this.maxLocals = maxLocals;
+        }
+
+        /**
+         * Emits an instruction without operands.
+         *
+         * @param opcode     the opcode
+         * @param stackDelta the change of the operand stack depth, in slots
+         */
+        Code op(int opcode, int stackDelta) {
+            bytes.write(opcode);
+            return adjust(stackDelta);
+        }
+
+        /**
+         * Emits an instruction with a one byte operand.
+         */
+        Code op1(int opcode, int operand, int stackDelta) {
+            bytes.write(opcode);
+            bytes.write(operand);
+            return adjust(stackDelta);
+        }
+
+        /**
+         * Emits an instruction with a two byte operand, such as a constant pool index or a branch offset.
+         */
+        Code op2(int opcode, int operand, int stackDelta) {
+            bytes.write(opcode);
+            bytes.write(operand >> 8);
+            bytes.write(operand);
+            return adjust(stackDelta);
+        }
+
+        /**
+         * Emits {@code iinc}, which increments an {@code int} local variable.
+         */
+        Code iinc(int local, int increment) {
+            bytes.write(0x84);
+            bytes.write(local);
+            bytes.write(increment);
+            return this;
+        }
+
+        /**
+         * @return the offset of the next instruction
+         */
+        int position() {
+            return bytes.size();
+        }
+
+        /**
+         * Overwrites the two byte operand of a previously emitted instruction, used for forward branches.
+         *
+         * @param instruction the offset of the instruction
+         * @param operand     the new operand
+         */
+        void patch2(int instruction, int operand) {
+            byte[] code = bytes.toByteArray();
+            code[instruction + 1] = (byte) (operand >> 8);
+            code[instruction + 2] = (byte) operand;
+            bytes.reset();
+            bytes.write(code, 0, code.length);
+        }
+
+        /**
+         * Appends a raw entry to the {@code StackMapTable} of the method.
+         *
+         * @param frame the encoded stack map frame
+         */
+        void frame(byte[] frame) {
+            stackMap.write(frame, 0, frame.length);
+            stackMapFrames++;
+        }
+
+        private Code adjust(int stackDelta) {
+            stack += stackDelta;
+            maxStack = Math.max(maxStack, stack);
+            if (maxStack > LIMIT) throw new LimitExceededException("Operand stack is too deep");
+            return this;
+        }
+    }
+}
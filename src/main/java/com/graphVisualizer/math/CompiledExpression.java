@@ -0,0 +1,45 @@
+package com.graphVisualizer.math;
+
+/**
+ * A mathematical expression of the variable {@code x} that has already been parsed, and can therefore be
+ * evaluated many times without re-tokenizing the source string.
+ * <p>
+ * Implementations are immutable, so the same instance can be evaluated from several threads.
+ *
+ * @see ExpressionCompiler
+ * @see ExpressionNode
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+
+    /**
+     * Evaluates the expression at the given value of {@code x}.
+     *
+     * @param x the value of the variable
+     * @return the value of the expression
+     * @throws IllegalArgumentException if a function received an invalid argument at this {@code x},
+     *                                  the same way {@code CustomEvaluator} would report it
+     */
+    double evaluate(double x);
+
+    /**
+     * Evaluates the expression for {@code values.length} values of {@code x}: {@code x} starts at {@code begin}
+     * and is incremented by {@code step} after every sample.
+     * <p>
+     * Implementations may override this to keep the whole sampling loop in one place, where the JIT can
+     * inline the formula.
+     *
+     * @param begin  the first value of {@code x}
+     * @param step   the increment of {@code x}
+     * @param values the array to fill
+     * @throws IllegalArgumentException if a function received an invalid argument, in which case
+     *                                  {@code values} is only partially filled
+     */
+    default void sample(double begin, double step, double[] values) {
+        double x = begin;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = evaluate(x);
+            x += step;
+        }
+    }
+}
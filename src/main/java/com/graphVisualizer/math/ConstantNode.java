@@ -0,0 +1,47 @@
+package com.graphVisualizer.math;
+
+import java.util.List;
+
+/**
+ * A numeric literal or a named constant ({@code pi}, {@code e}) of an expression tree.
+ *
+ * @see ExpressionNode
+ */
+public final class ConstantNode extends ExpressionNode {
+
+    /**
+     * The value of the constant.
+     */
+    private final double value;
+
+    /**
+     * Creates a constant node.
+     *
+     * @param value the value of the constant
+     */
+    public ConstantNode(double value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the value of the constant
+     */
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public double evaluate(double x) {
+        return value;
+    }
+
+    @Override
+    public List<ExpressionNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return Double.toString(value);
+    }
+}
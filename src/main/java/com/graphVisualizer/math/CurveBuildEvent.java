@@ -0,0 +1,33 @@
+package com.graphVisualizer.math;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for the calculation of the curve of a graph from its samples.
+ *
+ * @see Graph#calculateGraphCurve(int, int)
+ */
+@Name("com.graphVisualizer.CurveBuild")
+@Label("Curve Build")
+@Category({"Graph Visualizer", "Rendering"})
+@Description("The screen points, the decimated polyline and the path of a curve calculated")
+@StackTrace(false)
+final class CurveBuildEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Samples")
+    int samples;
+
+    @Label("Decimated Points")
+    int points;
+
+    @Label("Segments")
+    int segments;
+}
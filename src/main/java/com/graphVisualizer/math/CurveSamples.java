@@ -0,0 +1,31 @@
+package com.graphVisualizer.math;
+
+/**
+ * The points at which an expression was evaluated, in increasing order of {@code x}.
+ * <p>
+ * The arrays are owned by the samples once constructed: they are never modified afterwards, so samples can be
+ * handed from a sampling thread to the Event Dispatch Thread as a whole.
+ *
+ * @param range the range that was sampled
+ * @param x     the values of the variable, in increasing order
+ * @param y     the values of the expression at each {@code x}
+ * @see SamplingStrategy
+ */
+public record CurveSamples(SamplingRange range, double[] x, double[] y) {
+
+    /**
+     * @throws IllegalArgumentException if the arrays do not have the same length
+     */
+    public CurveSamples {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Expected as many values as points, got " + y.length + " for " + x.length);
+        }
+    }
+
+    /**
+     * @return the number of points
+     */
+    public int size() {
+        return x.length;
+    }
+}
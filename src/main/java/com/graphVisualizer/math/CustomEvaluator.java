@@ -20,14 +20,18 @@ public class CustomEvaluator extends DoubleEvaluator {
      * A custom function representing the square root operation.
      * This function is defined with the name "sqrt" and takes one argument.
      */
-    private static final Function SQRT = new Function("sqrt", 1);
+    static final Function SQRT = new Function("sqrt", 1);
 
     /**
      * A set of parameters used by the {@code CustomEvaluator} to define the functions and operators
      * it supports. The parameters include the default parameters from {@code DoubleEvaluator}
      * along with additional custom functions like square root.
+     * <p>
+     * Shared with {@code ExpressionParser}, so that compiled expressions accept exactly the same syntax.
+     *
+     * @see ExpressionParser
      */
-    private static final Parameters PARAMS;
+    static final Parameters PARAMS;
 
     static {
         // Gets the default DoubleEvaluator's parameters
@@ -105,4 +109,15 @@ public class CustomEvaluator extends DoubleEvaluator {
             return super.evaluate(function, arguments, evaluationContext);
         }
     }
+
+    /**
+     * Converts a numeric literal into its value, using the same number format as {@code DoubleEvaluator}.
+     *
+     * @param literal the literal, as it was found in the expression
+     * @return the value of the literal
+     * @throws IllegalArgumentException if the literal is not a number
+     */
+    double parseLiteral(String literal) {
+        return toValue(literal, null);
+    }
 }
@@ -0,0 +1,219 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds where a sampled curve breaks, so that its polyline is split there instead of crossing the screen.
+ * <p>
+ * Non-finite values always break the curve. Between two finite samples, a segment is a jump when it is more than
+ * {@code jumpThreshold} pixels high, and it is isolated: it goes the other way than both neighbouring segments,
+ * as across the asymptote of {@code tan(x)}, or it is more than {@value #JUMP_RATIO} times higher than both of
+ * them, as across a step. A steep but smooth curve has neighbouring segments of a similar height, in the same
+ * direction, and is therefore kept whole.
+ * <p>
+ * The jumps can be refined with extra samples: the interval of the jump is bisected {@code refineIterations}
+ * times, keeping the half with the larger jump. If the jump is still there once the interval is that small, the
+ * curve is broken at a non-finite point inserted in its middle, so that it reaches the break on both sides.
+ * Otherwise, the curve was only steep, and the bisection points are kept to draw it.
+ *
+ * @see Graph#calculateGraphCurve(int, int)
+ * @see Graph#sampleExpression(CompiledExpression, BooleanSupplier)
+ */
+public final class Discontinuities {
+
+    /**
+     * How many times higher than its neighbours a segment going the same way has to be to be a jump.
+     */
+    static final double JUMP_RATIO = 10;
+
+    /**
+     * The height, in pixels, above which a segment may be a jump.
+     */
+    private final double jumpThreshold;
+
+    /**
+     * The number of bisections of the interval of a jump, or 0 not to refine.
+     */
+    private final int refineIterations;
+
+    /**
+     * Constructs a detector.
+     *
+     * @param jumpThreshold    the height, in pixels, above which a segment may be a jump
+     * @param refineIterations the number of bisections of the interval of a jump, or 0 not to refine
+     * @throws IllegalArgumentException if {@code jumpThreshold} is not positive or {@code refineIterations}
+     *                                  is negative
+     */
+    public Discontinuities(double jumpThreshold, int refineIterations) throws IllegalArgumentException {
+        if (!(jumpThreshold > 0) || refineIterations < 0) {
+            throw new IllegalArgumentException("Invalid discontinuity configuration: jump threshold " + jumpThreshold
+                    + ", refine iterations " + refineIterations);
+        }
+        this.jumpThreshold = jumpThreshold;
+        this.refineIterations = refineIterations;
+    }
+
+    /**
+     * Creates the detector configured with the keys "curve.jumpThreshold" and "curve.refineIterations".
+     *
+     * @return the configured detector
+     * @see ConfigLoader
+     */
+    public static Discontinuities fromConfig() {
+        return new Discontinuities(ConfigLoader.getDouble("curve.jumpThreshold"),
+                ConfigLoader.getInt("curve.refineIterations"));
+    }
+
+    /**
+     * Determines if a segment of the curve jumps over a break. The heights are signed differences of {@code y},
+     * in pixels; a neighbour that does not exist, or has a non-finite end, is NaN.
+     *
+     * @param before the height of the previous segment
+     * @param height the height of the segment
+     * @param after  the height of the next segment
+     * @return true if the segment should not be drawn
+     */
+    public boolean isJump(double before, double height, double after) {
+        if (!(Math.abs(height) > jumpThreshold)) return false;
+        boolean hasBefore = !Double.isNaN(before);
+        boolean hasAfter = !Double.isNaN(after);
+        if (!hasBefore && !hasAfter) return false;
+        boolean reversed = (!hasBefore || before * height < 0) && (!hasAfter || after * height < 0);
+        boolean dominant = (!hasBefore || Math.abs(height) > JUMP_RATIO * Math.abs(before))
+                && (!hasAfter || Math.abs(height) > JUMP_RATIO * Math.abs(after));
+        return reversed || dominant;
+    }
+
+    /**
+     * Determines if the segment from point {@code i} to point {@code i + 1} jumps over a break.
+     *
+     * @param y     the values of the curve
+     * @param i     the first point of the segment
+     * @param scale the number of pixels per unit
+     * @return true if the segment should not be drawn
+     */
+    boolean isJump(double[] y, int i, double scale) {
+        double before = i > 0 ? (y[i] - y[i - 1]) * scale : Double.NaN;
+        double after = i + 2 < y.length ? (y[i + 2] - y[i + 1]) * scale : Double.NaN;
+        return isJump(before, (y[i + 1] - y[i]) * scale, after);
+    }
+
+    /**
+     * Refines the jumps of the samples with extra evaluations of the expression. Nothing is done if refinement
+     * is disabled, or the samples have no jump.
+     *
+     * @param expression the expression the samples were taken from
+     * @param samples    the samples
+     * @param cancelled  checked before every jump; once it returns true, the other jumps are left as they are
+     * @return the samples with the extra points, and a non-finite point at every confirmed break
+     */
+    public CurveSamples refine(CompiledExpression expression, CurveSamples samples, BooleanSupplier cancelled) {
+        if (refineIterations == 0) return samples;
+        double scale = samples.range().scale();
+        double[] x = samples.x();
+        double[] y = samples.y();
+        double[] refinedX = null;
+        double[] refinedY = null;
+        int count = 0;
+        int copied = 0;
+        for (int i = 0; i + 1 < x.length && !cancelled.getAsBoolean(); i++) {
+            if (!Double.isFinite(y[i]) || !Double.isFinite(y[i + 1]) || !isJump(y, i, scale)) continue;
+            if (refinedX == null) {
+                refinedX = new double[x.length + 8];
+                refinedY = new double[x.length + 8];
+            }
+            int needed = count + (i + 1 - copied) + refineIterations + 1;
+            if (needed > refinedX.length) {
+                refinedX = Arrays.copyOf(refinedX, Math.max(needed, 2 * refinedX.length));
+                refinedY = Arrays.copyOf(refinedY, refinedX.length);
+            }
+            System.arraycopy(x, copied, refinedX, count, i + 1 - copied);
+            System.arraycopy(y, copied, refinedY, count, i + 1 - copied);
+            count += i + 1 - copied;
+            copied = i + 1;
+            count = bisect(expression, x[i], y[i], x[i + 1], y[i + 1], scale, refinedX, refinedY, count);
+        }
+        if (refinedX == null) return samples;
+
+        refinedX = Arrays.copyOf(refinedX, count + x.length - copied);
+        refinedY = Arrays.copyOf(refinedY, refinedX.length);
+        System.arraycopy(x, copied, refinedX, count, x.length - copied);
+        System.arraycopy(y, copied, refinedY, count, y.length - copied);
+        return new CurveSamples(samples.range(), refinedX, refinedY);
+    }
+
+    /**
+     * Bisects the interval of a jump, and writes the points found strictly inside it.
+     *
+     * @return the number of points in {@code x} and {@code y} after the inserted ones
+     */
+    private int bisect(CompiledExpression expression, double beginX, double beginY, double endX, double endY,
+                       double scale, double[] x, double[] y, int count) {
+        // The ends of the bisections that were moved, on each side of the interval, in the order they were moved
+        double[] leftX = new double[refineIterations];
+        double[] leftY = new double[refineIterations];
+        double[] rightX = new double[refineIterations];
+        double[] rightY = new double[refineIterations];
+        int left = 0;
+        int right = 0;
+        double aX = beginX, aY = beginY, bX = endX, bY = endY;
+        double breakX = Double.NaN;
+        for (int k = 0; k < refineIterations && Double.isNaN(breakX); k++) {
+            double middleX = (aX + bX) / 2;
+            double middleY = evaluate(expression, middleX);
+            if (!Double.isFinite(middleY)) {
+                // The expression is not defined there, which breaks the curve as well
+                breakX = middleX;
+            } else if (Math.abs(middleY - aY) >= Math.abs(bY - middleY)) {
+                if (bX != endX) {
+                    rightX[right] = bX;
+                    rightY[right++] = bY;
+                }
+                bX = middleX;
+                bY = middleY;
+            } else {
+                if (aX != beginX) {
+                    leftX[left] = aX;
+                    leftY[left++] = aY;
+                }
+                aX = middleX;
+                aY = middleY;
+            }
+            if (!(Math.abs(bY - aY) * scale > jumpThreshold)) break;
+            if (k == refineIterations - 1) breakX = (aX + bX) / 2;
+        }
+
+        for (int k = 0; k < left; k++) {
+            x[count] = leftX[k];
+            y[count++] = leftY[k];
+        }
+        if (aX != beginX) {
+            x[count] = aX;
+            y[count++] = aY;
+        }
+        if (!Double.isNaN(breakX)) {
+            x[count] = breakX;
+            y[count++] = Double.NaN;
+        }
+        if (bX != endX) {
+            x[count] = bX;
+            y[count++] = bY;
+        }
+        for (int k = right - 1; k >= 0; k--) {
+            x[count] = rightX[k];
+            y[count++] = rightY[k];
+        }
+        return count;
+    }
+
+    private static double evaluate(CompiledExpression expression, double x) {
+        try {
+            return expression.evaluate(x);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.graphVisualizer.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shared evaluation plan for several expressions, in which common sub-expressions are evaluated only once
+ * per value of {@code x}.
+ * <p>
+ * The simplified trees of all expressions are hash-consed into a single DAG: two subtrees with the same
+ * operation and the same operands become one <i>slot</i>. Since {@code ExpressionSimplifier} writes commuted
+ * operands in a canonical order, {@code 2*sin(x)} and {@code sin(x)*2} share a slot as well.
+ * Calls to {@code random} are never shared. The slots are stored in evaluation order, so sampling is a flat loop
+ * over arrays.
+ * <p>
+ * Evaluation errors are tracked per slot instead of being thrown, so that an invalid argument in one expression
+ * does not prevent the others from being sampled. A slot fails with the error of its first failing operand,
+ * in operand order, which is the error the tree of the expression would have thrown.
+ * <p>
+ * The plan keeps the simplified tree of every expression, so the expressions are parsed only once by whoever
+ * needs them evaluated on their own as well.
+ * <p>
+ * Only graphs sampled together share a plan: the graphs loaded from a file, the scenes of the batch renderer, and
+ * the graphs of a {@code DrawingPane} that sample the same fixed-step range, resampled after the viewport moved.
+ * An edit of a single expression, in {@code FunctionTextInputComponent}, evaluates that expression on its own,
+ * sub-expressions shared with other graphs included.
+ *
+ * @see ExpressionSimplifier
+ * @see Graph#setValuesFromExpressions(java.util.List, java.util.List)
+ * @see Graph#sampleTogether(java.util.List, java.util.List, CurveSamples[], java.util.function.BooleanSupplier)
+ */
+public final class EvaluationPlan {
+
+    private static final int CONSTANT = 0;
+    private static final int VARIABLE = 1;
+    private static final int OPERATION = 2;
+
+    /**
+     * The kind of each slot: constant, variable or operation.
+     */
+    private final int[] kinds;
+
+    /**
+     * The value of constant slots.
+     */
+    private final double[] constants;
+
+    /**
+     * The operation of operation slots.
+     */
+    private final MathOperation[] operations;
+
+    /**
+     * The operand slots of operation slots; operands always precede the slot that uses them.
+     */
+    private final int[][] operands;
+
+    /**
+     * The slot holding the value of each expression.
+     */
+    private final int[] outputs;
+
+    /**
+     * The simplified tree of each expression.
+     */
+    private final List<ExpressionNode> roots;
+
+    private EvaluationPlan(Builder builder, int[] outputs, List<ExpressionNode> roots) {
+        int size = builder.kinds.size();
+        kinds = new int[size];
+        constants = new double[size];
+        operations = new MathOperation[size];
+        operands = new int[size][];
+        for (int i = 0; i < size; i++) {
+            kinds[i] = builder.kinds.get(i);
+            constants[i] = builder.constants.get(i);
+            operations[i] = builder.operations.get(i);
+            operands[i] = builder.operands.get(i);
+        }
+        this.outputs = outputs;
+        this.roots = List.copyOf(roots);
+    }
+
+    /**
+     * Builds a plan for the given expressions.
+     *
+     * @param expressions the expressions, where {@code x} is the variable
+     * @return the shared plan
+     * @throws IllegalArgumentException if one of the expressions is invalid
+     */
+    public static EvaluationPlan compile(List<String> expressions) throws IllegalArgumentException {
+        List<ExpressionNode> roots = new ArrayList<>();
+        for (String expression : expressions) {
+            roots.add(ExpressionSimplifier.simplify(ExpressionCompiler.parse(expression)));
+        }
+        return of(roots);
+    }
+
+    /**
+     * Builds a plan for the given expression trees.
+     *
+     * @param roots the roots of the expression trees
+     * @return the shared plan
+     */
+    public static EvaluationPlan of(List<ExpressionNode> roots) {
+        Builder builder = new Builder();
+        int[] outputs = new int[roots.size()];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = builder.add(roots.get(i));
+        }
+        return new EvaluationPlan(builder, outputs, roots);
+    }
+
+    /**
+     * @return the number of expressions in the plan
+     */
+    public int getExpressionCount() {
+        return outputs.length;
+    }
+
+    /**
+     * Retrieves the tree an expression of the plan was built from, which evaluates it by interpretation.
+     *
+     * @param index the index of the expression, in the order of the plan
+     * @return the simplified tree of the expression
+     */
+    public ExpressionNode getRoot(int index) {
+        return roots.get(index);
+    }
+
+    /**
+     * Retrieves the number of distinct sub-expressions, which is the work done per value of {@code x}.
+     *
+     * @return the number of slots of the plan
+     */
+    public int getSlotCount() {
+        return kinds.length;
+    }
+
+    /**
+     * Evaluates every expression for {@code values[k].length} values of {@code x}: {@code x} starts at {@code begin}
+     * and is incremented by {@code step} after every sample, as in {@link CompiledExpression#sample}.
+     * <p>
+     * When expression {@code k} raises an error at some {@code x}, its samples stop there, exactly where
+     * {@code CompiledExpression.sample} would have thrown, and the error is returned instead of being thrown.
+     *
+     * @param begin  the first value of {@code x}
+     * @param step   the increment of {@code x}
+     * @param values one array per expression, in the order of the plan
+     * @return one element per expression: the error it raised, or {@code null}
+     */
+    public IllegalArgumentException[] sample(double begin, double step, double[][] values) {
+        IllegalArgumentException[] errors = new IllegalArgumentException[outputs.length];
+        double[] slots = new double[kinds.length];
+        MathOperation[] failures = new MathOperation[kinds.length];
+        int count = 0;
+        for (double[] array : values) {
+            count = Math.max(count, array.length);
+        }
+        double x = begin;
+        for (int i = 0; i < count; i++) {
+            evaluate(x, slots, failures);
+            for (int k = 0; k < outputs.length; k++) {
+                if (errors[k] != null || i >= values[k].length) continue;
+                MathOperation failure = failures[outputs[k]];
+                if (failure != null) {
+                    errors[k] = new IllegalArgumentException("Invalid argument passed to " + failure.getSymbol());
+                } else {
+                    values[k][i] = slots[outputs[k]];
+                }
+            }
+            x += step;
+        }
+        return errors;
+    }
+
+    /**
+     * Evaluates every slot at {@code x}.
+     *
+     * @param x        the value of the variable
+     * @param slots    receives the value of every slot
+     * @param failures receives the failed operation of every failed slot, {@code null} for the others
+     */
+    private void evaluate(double x, double[] slots, MathOperation[] failures) {
+        for (int s = 0; s < kinds.length; s++) {
+            switch (kinds[s]) {
+                case CONSTANT -> slots[s] = constants[s];
+                case VARIABLE -> slots[s] = x;
+                default -> {
+                    MathOperation failure = null;
+                    for (int operand : operands[s]) {
+                        if (failures[operand] != null) {
+                            failure = failures[operand];
+                            break;
+                        }
+                    }
+                    if (failure == null) {
+                        double result = apply(operations[s], operands[s], slots);
+                        if (operations[s].isNanChecked() && Double.isNaN(result)) {
+                            failure = operations[s];
+                        }
+                        slots[s] = result;
+                    }
+                    failures[s] = failure;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies an operation to already evaluated operands, with the semantics of {@code OperationNode}.
+     */
+    private static double apply(MathOperation operation, int[] operands, double[] slots) {
+        if (operation.isVariadic()) {
+            if (operation == MathOperation.SUM || operation == MathOperation.AVG) {
+                double sum = 0.0;
+                for (int operand : operands) {
+                    sum += slots[operand];
+                }
+                return operation == MathOperation.AVG ? sum / operands.length : sum;
+            }
+            double accumulator = slots[operands[0]];
+            for (int i = 1; i < operands.length; i++) {
+                accumulator = operation.apply(accumulator, slots[operands[i]]);
+            }
+            return accumulator;
+        }
+        return switch (operands.length) {
+            case 0 -> Math.random();
+            case 1 -> operation.apply(slots[operands[0]]);
+            default -> operation.apply(slots[operands[0]], slots[operands[1]]);
+        };
+    }
+
+    /**
+     * Hash-conses expression trees into slots.
+     */
+    private static final class Builder {
+        private final List<Integer> kinds = new ArrayList<>();
+        private final List<Double> constants = new ArrayList<>();
+        private final List<MathOperation> operations = new ArrayList<>();
+        private final List<int[]> operands = new ArrayList<>();
+        private final Map<List<Object>, Integer> slots = new HashMap<>();
+
+        /**
+         * Adds the tree rooted at {@code node}, reusing the slots of the sub-expressions already in the plan.
+         *
+         * @return the slot of {@code node}
+         */
+        int add(ExpressionNode node) {
+            if (node instanceof ConstantNode constant) {
+                return slot(List.of(CONSTANT, Double.doubleToRawLongBits(constant.getValue())),
+                        CONSTANT, constant.getValue(), null, new int[0]);
+            } else if (node instanceof VariableNode) {
+                return slot(List.of(VARIABLE), VARIABLE, 0, null, new int[0]);
+            } else if (node instanceof OperationNode operationNode) {
+                List<ExpressionNode> children = node.getChildren();
+                int[] operandSlots = new int[children.size()];
+                for (int i = 0; i < operandSlots.length; i++) {
+                    operandSlots[i] = add(children.get(i));
+                }
+                MathOperation operation = operationNode.getOperation();
+                List<Object> key = operation.isDeterministic()
+                        ? List.of(OPERATION, operation, Arrays.toString(operandSlots))
+                        : List.of(OPERATION, operation, kinds.size());
+                return slot(key, OPERATION, 0, operation, operandSlots);
+            }
+            throw new IllegalArgumentException("Unsupported expression node: " + node.getClass().getName());
+        }
+
+        private int slot(List<Object> key, int kind, double constant, MathOperation operation, int[] operandSlots) {
+            Integer existing = slots.get(key);
+            if (existing != null) return existing;
+            kinds.add(kind);
+            constants.add(constant);
+            operations.add(operation);
+            operands.add(operandSlots);
+            slots.put(key, kinds.size() - 1);
+            return kinds.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Locale;
+
+/**
+ * Compiles mathematical expressions of the variable {@code x} into {@code CompiledExpressions}.
+ * <p>
+ * The expression is tokenized and parsed only once, into an immutable tree of {@code ExpressionNodes} that keeps
+ * the semantics of {@code CustomEvaluator} (division by zero, {@code sqrt}, {@code log} and {@code ln}).
+ * The tree is then simplified by {@code ExpressionSimplifier}.
+ * The result can then be evaluated for as many values of {@code x} as needed, either by interpreting the tree,
+ * by running bytecode generated from it, or, for arithmetic expressions, by sampling vectors of {@code x}.
+ *
+ * @see CompiledExpression
+ * @see ExpressionSimplifier
+ * @see CustomEvaluator
+ */
+public final class ExpressionCompiler {
+
+    /**
+     * The ways a parsed expression can be evaluated.
+     */
+    public enum Backend {
+        /**
+         * Evaluates the {@code ExpressionNode} tree directly.
+         */
+        INTERPRETER,
+        /**
+         * Generates a hidden class from the tree, falling back to the interpreter when that is not possible.
+         *
+         * @see BytecodeCompiler
+         */
+        BYTECODE,
+        /**
+         * Samples arithmetic expressions a vector of {@code x} at a time with the Vector API, and uses
+         * {@code BYTECODE} for everything else. It also falls back to {@code BYTECODE} unless the application was
+         * built with the {@code vector} profile and runs with the {@code jdk.incubator.vector} module.
+         *
+         * @see #isVectorAvailable()
+         */
+        VECTOR
+    }
+
+    /**
+     * The backend used by {@link #compile(String)}, loaded from the configuration using the key "expr.backend".
+     *
+     * @see ConfigLoader
+     */
+    private static final Backend BACKEND = Backend.valueOf(ConfigLoader.get("expr.backend").toUpperCase(Locale.ROOT));
+
+    /**
+     * One parser per thread, because javaluator evaluators are not meant to be shared, and building one
+     * (tokenizer patterns, operator tables) costs more than parsing a short expression.
+     */
+    private static final ThreadLocal<ExpressionParser> PARSER = ThreadLocal.withInitial(ExpressionParser::new);
+
+    /**
+     * The factory of {@code VectorizedExpressions}, or {@code null} if the class was not compiled or the
+     * incubator module is not resolved.
+     */
+    private static final MethodHandle VECTORIZER = findVectorizer();
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Parses the expression into an expression tree, without simplifying it.
+     * A successful parse is recorded as an {@code ExpressionParseEvent}.
+     *
+     * @param expression the expression, where {@code x} is the variable
+     * @return the root of the expression tree
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static ExpressionNode parse(String expression) throws IllegalArgumentException {
+        ExpressionParseEvent event = new ExpressionParseEvent();
+        event.begin();
+        ExpressionNode root = PARSER.get().parse(expression);
+        if (event.shouldCommit()) {
+            event.expression = expression;
+            event.commit();
+        }
+        return root;
+    }
+
+    /**
+     * Compiles the expression with the configured backend, so that it can be evaluated without parsing it again.
+     *
+     * @param expression the expression, where {@code x} is the variable
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is invalid
+     * @see #BACKEND
+     */
+    public static CompiledExpression compile(String expression) throws IllegalArgumentException {
+        return compile(expression, BACKEND);
+    }
+
+    /**
+     * Compiles the expression with the given backend.
+     *
+     * @param expression the expression, where {@code x} is the variable
+     * @param backend    the way the expression will be evaluated
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static CompiledExpression compile(String expression, Backend backend) throws IllegalArgumentException {
+        ExpressionNode root = ExpressionSimplifier.simplify(parse(expression));
+        return switch (backend) {
+            case INTERPRETER -> root;
+            case BYTECODE -> BytecodeCompiler.compile(root);
+            case VECTOR -> vectorize(root, BytecodeCompiler.compile(root));
+        };
+    }
+
+    /**
+     * Determines if the {@code VECTOR} backend can vectorize expressions in this JVM.
+     *
+     * @return true if the application was built with the {@code vector} profile, and the
+     * {@code jdk.incubator.vector} module is resolved
+     */
+    public static boolean isVectorAvailable() {
+        return VECTORIZER != null;
+    }
+
+    /**
+     * Vectorizes the expression if it only uses operations with an exact vector form.
+     *
+     * @param root   the simplified expression tree
+     * @param scalar the same expression, compiled to bytecode
+     * @return the vectorized expression, or {@code scalar} if it cannot be vectorized
+     */
+    private static CompiledExpression vectorize(ExpressionNode root, CompiledExpression scalar) {
+        if (VECTORIZER == null) return scalar;
+        CompiledExpression vectorized;
+        try {
+            vectorized = (CompiledExpression) VECTORIZER.invokeExact(root, scalar);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return vectorized != null ? vectorized : scalar;
+    }
+
+    /**
+     * Looks up {@code VectorizedExpression.of}, which is only compiled by the {@code vector} profile, and can
+     * only be linked when the application runs with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @return the factory, or {@code null} if it cannot be used
+     */
+    private static MethodHandle findVectorizer() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            Class<?> vectorized = Class.forName("com.graphVisualizer.math.VectorizedExpression");
+            return MethodHandles.lookup().findStatic(vectorized, "of",
+                    MethodType.methodType(CompiledExpression.class, ExpressionNode.class, CompiledExpression.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.graphVisualizer.math;
+
+import java.util.List;
+
+/**
+ * A node of the immutable expression tree produced by {@code ExpressionCompiler}.
+ * <p>
+ * The tree is evaluated directly on primitive {@code double} values: no boxing, no variable lookup
+ * and no re-parsing happen per evaluation.
+ *
+ * @see ConstantNode
+ * @see VariableNode
+ * @see OperationNode
+ * @see ExpressionCompiler
+ */
+public abstract class ExpressionNode implements CompiledExpression {
+
+    /**
+     * Retrieves the direct children of this node, in evaluation order.
+     *
+     * @return an unmodifiable list of the operands, empty for leaves
+     */
+    public abstract List<ExpressionNode> getChildren();
+
+    /**
+     * Counts the nodes of the tree rooted at this node, which is proportional to the work done per evaluation.
+     *
+     * @return the number of nodes in this subtree
+     */
+    public int size() {
+        int size = 1;
+        for (ExpressionNode child : getChildren()) {
+            size += child.size();
+        }
+        return size;
+    }
+}
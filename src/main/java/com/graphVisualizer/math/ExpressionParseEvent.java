@@ -0,0 +1,24 @@
+package com.graphVisualizer.math;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for the parsing of an expression into its tree.
+ *
+ * @see ExpressionCompiler#parse(String)
+ */
+@Name("com.graphVisualizer.ExpressionParse")
+@Label("Expression Parse")
+@Category({"Graph Visualizer", "Evaluation"})
+@Description("An expression parsed into its tree")
+@StackTrace(false)
+final class ExpressionParseEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+}
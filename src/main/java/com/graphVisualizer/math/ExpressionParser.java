@@ -0,0 +1,146 @@
+package com.graphVisualizer.math;
+
+import com.fathzer.soft.javaluator.AbstractEvaluator;
+import com.fathzer.soft.javaluator.Constant;
+import com.fathzer.soft.javaluator.DoubleEvaluator;
+import com.fathzer.soft.javaluator.Function;
+import com.fathzer.soft.javaluator.Operator;
+import com.fathzer.soft.javaluator.StaticVariableSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses an expression into an {@code ExpressionNode} tree instead of a number.
+ * <p>
+ * It reuses the tokenizer and the operator precedence rules of javaluator with the parameters of
+ * {@code CustomEvaluator}, but its "values" are tree nodes: every operator and function application
+ * builds a new {@code OperationNode} from the nodes of its operands.
+ * <p>
+ * Instances are not meant to be shared between threads.
+ *
+ * @see CustomEvaluator
+ * @see ExpressionCompiler
+ */
+final class ExpressionParser extends AbstractEvaluator<ExpressionNode> {
+
+    /**
+     * Maps the javaluator functions supported by {@code CustomEvaluator} to their operation.
+     */
+    private static final Map<Function, MathOperation> FUNCTIONS = new HashMap<>();
+
+    /**
+     * Maps the javaluator operators supported by {@code CustomEvaluator} to their operation.
+     */
+    private static final Map<Operator, MathOperation> OPERATORS = new HashMap<>();
+
+    static {
+        FUNCTIONS.put(DoubleEvaluator.ABS, MathOperation.ABS);
+        FUNCTIONS.put(DoubleEvaluator.CEIL, MathOperation.CEIL);
+        FUNCTIONS.put(DoubleEvaluator.FLOOR, MathOperation.FLOOR);
+        FUNCTIONS.put(DoubleEvaluator.ROUND, MathOperation.ROUND);
+        FUNCTIONS.put(DoubleEvaluator.SINE, MathOperation.SIN);
+        FUNCTIONS.put(DoubleEvaluator.COSINE, MathOperation.COS);
+        FUNCTIONS.put(DoubleEvaluator.TANGENT, MathOperation.TAN);
+        FUNCTIONS.put(DoubleEvaluator.ASINE, MathOperation.ASIN);
+        FUNCTIONS.put(DoubleEvaluator.ACOSINE, MathOperation.ACOS);
+        FUNCTIONS.put(DoubleEvaluator.ATAN, MathOperation.ATAN);
+        FUNCTIONS.put(DoubleEvaluator.SINEH, MathOperation.SINH);
+        FUNCTIONS.put(DoubleEvaluator.COSINEH, MathOperation.COSH);
+        FUNCTIONS.put(DoubleEvaluator.TANGENTH, MathOperation.TANH);
+        FUNCTIONS.put(DoubleEvaluator.LN, MathOperation.LN);
+        FUNCTIONS.put(DoubleEvaluator.LOG, MathOperation.LOG);
+        FUNCTIONS.put(CustomEvaluator.SQRT, MathOperation.SQRT);
+        FUNCTIONS.put(DoubleEvaluator.MIN, MathOperation.MIN);
+        FUNCTIONS.put(DoubleEvaluator.MAX, MathOperation.MAX);
+        FUNCTIONS.put(DoubleEvaluator.SUM, MathOperation.SUM);
+        FUNCTIONS.put(DoubleEvaluator.AVERAGE, MathOperation.AVG);
+        FUNCTIONS.put(DoubleEvaluator.RANDOM, MathOperation.RANDOM);
+
+        OPERATORS.put(DoubleEvaluator.NEGATE, MathOperation.NEGATE);
+        OPERATORS.put(DoubleEvaluator.NEGATE_HIGH, MathOperation.NEGATE);
+        OPERATORS.put(DoubleEvaluator.MINUS, MathOperation.SUBTRACT);
+        OPERATORS.put(DoubleEvaluator.PLUS, MathOperation.ADD);
+        OPERATORS.put(DoubleEvaluator.MULTIPLY, MathOperation.MULTIPLY);
+        OPERATORS.put(DoubleEvaluator.DIVIDE, MathOperation.DIVIDE);
+        OPERATORS.put(DoubleEvaluator.EXPONENT, MathOperation.POWER);
+        OPERATORS.put(DoubleEvaluator.MODULO, MathOperation.MODULO);
+    }
+
+    /**
+     * Used to convert numeric literals, so that numbers are read exactly like {@code CustomEvaluator} reads them.
+     */
+    private final CustomEvaluator literalParser = new CustomEvaluator();
+
+    /**
+     * Binds the variable name {@code x} to the {@code VariableNode}.
+     */
+    private final StaticVariableSet<ExpressionNode> variables = new StaticVariableSet<>();
+
+    /**
+     * Creates a parser with the parameters of {@code CustomEvaluator}.
+     */
+    ExpressionParser() {
+        super(CustomEvaluator.PARAMS);
+        variables.set(VariableNode.NAME, VariableNode.X);
+    }
+
+    /**
+     * Parses the expression into a tree.
+     *
+     * @param expression the expression, where {@code x} is the variable
+     * @return the root of the expression tree
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    ExpressionNode parse(String expression) {
+        return evaluate(expression, variables);
+    }
+
+    @Override
+    protected ExpressionNode toValue(String literal, Object evaluationContext) {
+        return new ConstantNode(literalParser.parseLiteral(literal));
+    }
+
+    @Override
+    protected ExpressionNode evaluate(Constant constant, Object evaluationContext) {
+        if (constant == DoubleEvaluator.PI) {
+            return new ConstantNode(Math.PI);
+        } else if (constant == DoubleEvaluator.E) {
+            return new ConstantNode(Math.E);
+        }
+        return super.evaluate(constant, evaluationContext);
+    }
+
+    @Override
+    protected ExpressionNode evaluate(Operator operator, Iterator<ExpressionNode> operands, Object evaluationContext) {
+        MathOperation operation = OPERATORS.get(operator);
+        if (operation == null) {
+            return super.evaluate(operator, operands, evaluationContext);
+        }
+        return new OperationNode(operation, toArray(operands));
+    }
+
+    @Override
+    protected ExpressionNode evaluate(Function function, Iterator<ExpressionNode> arguments, Object evaluationContext) {
+        MathOperation operation = FUNCTIONS.get(function);
+        if (operation == null) {
+            return super.evaluate(function, arguments, evaluationContext);
+        }
+        return new OperationNode(operation, toArray(arguments));
+    }
+
+    /**
+     * Collects the operands of an operator or function.
+     *
+     * @param operands the operands, in evaluation order
+     * @return the operands as an array
+     */
+    private static ExpressionNode[] toArray(Iterator<ExpressionNode> operands) {
+        List<ExpressionNode> list = new ArrayList<>();
+        operands.forEachRemaining(list::add);
+        return list.toArray(new ExpressionNode[0]);
+    }
+}
@@ -0,0 +1,177 @@
+package com.graphVisualizer.math;
+
+import java.util.List;
+
+/**
+ * Simplifies expression trees between parsing and evaluation, so that less work is done per sample.
+ * <p>
+ * Every rewrite is exact under IEEE 754 semantics and keeps the behaviour of {@code CustomEvaluator},
+ * including the signed zeros, infinities and {@code NaN}s it produces and the evaluation errors it reports:
+ * <ul>
+ *     <li>constant subtrees are folded ({@code pi/2}, {@code e^2}), unless folding would raise an error, which is
+ *     then left to be reported at evaluation time;</li>
+ *     <li>{@code a*1}, {@code a/1}, {@code a^1}, {@code a-0}, {@code a+(-0)} and {@code -(-a)} become {@code a},
+ *     {@code a*(-1)} becomes {@code -a}, {@code a-(-b)} becomes {@code a+b} and {@code a+(-b)} becomes
+ *     {@code a-b};</li>
+ *     <li>{@code a^0} becomes {@code 1} when evaluating {@code a} cannot raise an error;</li>
+ *     <li>the operands of {@code +} and {@code *} are put in a canonical order, variable terms first and
+ *     constants last, so that equal sub-expressions are written the same way.</li>
+ * </ul>
+ * {@code a+0} is deliberately kept: it turns {@code -0.0} into {@code 0.0}, which {@code ^}, {@code /} and
+ * {@code atan} can observe. Sums are not re-associated either, since that changes rounding.
+ *
+ * @see ExpressionCompiler
+ */
+public final class ExpressionSimplifier {
+
+    private ExpressionSimplifier() {
+    }
+
+    /**
+     * Simplifies the expression tree.
+     *
+     * @param node the root of the expression tree
+     * @return the root of an equivalent tree, which is never larger than the original one
+     */
+    public static ExpressionNode simplify(ExpressionNode node) {
+        if (!(node instanceof OperationNode operationNode)) {
+            return node;
+        }
+        MathOperation operation = operationNode.getOperation();
+        List<ExpressionNode> children = operationNode.getChildren();
+        ExpressionNode[] operands = new ExpressionNode[children.size()];
+        boolean constant = operation.isDeterministic();
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = simplify(children.get(i));
+            constant &= operands[i] instanceof ConstantNode;
+        }
+        OperationNode simplified = new OperationNode(operation, operands);
+        if (constant) {
+            try {
+                return new ConstantNode(simplified.evaluate(0));
+            } catch (IllegalArgumentException e) {
+                // Keep the node, so that the error is reported when the expression is evaluated
+                return simplified;
+            }
+        }
+        ExpressionNode rewritten = rewrite(operation, operands);
+        return rewritten != null ? rewritten : canonicalize(simplified);
+    }
+
+    /**
+     * Applies the algebraic identities.
+     *
+     * @param operation the operation of the node
+     * @param operands  the simplified operands
+     * @return the simplified node, or {@code null} if no identity applies
+     */
+    private static ExpressionNode rewrite(MathOperation operation, ExpressionNode[] operands) {
+        switch (operation) {
+            case NEGATE -> {
+                if (operands[0] instanceof OperationNode inner && inner.getOperation() == MathOperation.NEGATE) {
+                    return inner.getChildren().get(0);
+                }
+            }
+            case MULTIPLY -> {
+                if (isConstant(operands[1], 1.0)) return operands[0];
+                if (isConstant(operands[0], 1.0)) return operands[1];
+                if (isConstant(operands[1], -1.0)) return simplify(new OperationNode(MathOperation.NEGATE, operands[0]));
+                if (isConstant(operands[0], -1.0)) return simplify(new OperationNode(MathOperation.NEGATE, operands[1]));
+            }
+            case DIVIDE -> {
+                if (isConstant(operands[1], 1.0)) return operands[0];
+            }
+            case POWER -> {
+                if (isConstant(operands[1], 1.0)) return operands[0];
+                if (isConstant(operands[1], 0.0) && !canFail(operands[0])) return new ConstantNode(1.0);
+            }
+            case SUBTRACT -> {
+                if (isPositiveZero(operands[1])) return operands[0];
+                if (isNegation(operands[1])) {
+                    return simplify(new OperationNode(MathOperation.ADD, operands[0], operands[1].getChildren().get(0)));
+                }
+            }
+            case ADD -> {
+                if (isNegativeZero(operands[1])) return operands[0];
+                if (isNegativeZero(operands[0])) return operands[1];
+                if (isNegation(operands[1])) {
+                    return simplify(new OperationNode(MathOperation.SUBTRACT, operands[0], operands[1].getChildren().get(0)));
+                }
+            }
+            default -> {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts the operands of a commutative binary operation in canonical order: constants after everything else,
+     * and otherwise in the order of their textual form.
+     * <p>
+     * The operands are only swapped if at most one of them can raise an error, so the reported error never changes.
+     *
+     * @param node the node to canonicalize
+     * @return the node with its operands in canonical order
+     */
+    private static ExpressionNode canonicalize(OperationNode node) {
+        MathOperation operation = node.getOperation();
+        if (operation != MathOperation.ADD && operation != MathOperation.MULTIPLY) {
+            return node;
+        }
+        ExpressionNode left = node.getChildren().get(0);
+        ExpressionNode right = node.getChildren().get(1);
+        if (compare(left, right) <= 0 || (canFail(left) && canFail(right))) {
+            return node;
+        }
+        return new OperationNode(operation, right, left);
+    }
+
+    /**
+     * Orders nodes for {@link #canonicalize(OperationNode)}.
+     */
+    private static int compare(ExpressionNode a, ExpressionNode b) {
+        boolean aConstant = a instanceof ConstantNode;
+        boolean bConstant = b instanceof ConstantNode;
+        if (aConstant != bConstant) {
+            return aConstant ? 1 : -1;
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    /**
+     * Determines if evaluating the subtree can raise an {@code IllegalArgumentException}.
+     *
+     * @param node the root of the subtree
+     * @return true if the subtree contains a {@code NaN}-checked function, or a node of unknown type
+     */
+    static boolean canFail(ExpressionNode node) {
+        if (node instanceof ConstantNode || node instanceof VariableNode) {
+            return false;
+        }
+        if (!(node instanceof OperationNode operationNode) || operationNode.getOperation().isNanChecked()) {
+            return true;
+        }
+        for (ExpressionNode child : node.getChildren()) {
+            if (canFail(child)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isConstant(ExpressionNode node, double value) {
+        return node instanceof ConstantNode constant && constant.getValue() == value;
+    }
+
+    private static boolean isPositiveZero(ExpressionNode node) {
+        return node instanceof ConstantNode constant && Double.doubleToRawLongBits(constant.getValue()) == 0L;
+    }
+
+    private static boolean isNegativeZero(ExpressionNode node) {
+        return node instanceof ConstantNode constant
+                && Double.doubleToRawLongBits(constant.getValue()) == Double.doubleToRawLongBits(-0.0);
+    }
+
+    private static boolean isNegation(ExpressionNode node) {
+        return node instanceof OperationNode operation && operation.getOperation() == MathOperation.NEGATE;
+    }
+}
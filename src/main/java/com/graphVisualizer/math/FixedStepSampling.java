@@ -0,0 +1,48 @@
+package com.graphVisualizer.math;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Samples the expression at every {@code step} of the range, whatever the curve looks like.
+ *
+ * @see ParallelSampler
+ */
+public final class FixedStepSampling implements SamplingStrategy {
+
+    /**
+     * Samples large ranges in parallel chunks.
+     */
+    private final ParallelSampler sampler;
+
+    /**
+     * @param sampler the sampler evaluating the expression
+     */
+    public FixedStepSampling(ParallelSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public CurveSamples sample(CompiledExpression expression, SamplingRange range, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        double[] y = new double[range.count()];
+        sampler.sample(expression, range.begin(), range.step(), y, cancelled);
+        return new CurveSamples(range, points(range), y);
+    }
+
+    /**
+     * Computes the values of {@code x} of a fixed-step range, the same way {@link CompiledExpression#sample}
+     * increments them.
+     *
+     * @param range the range
+     * @return {@code range.count()} values of {@code x}
+     */
+    public static double[] points(SamplingRange range) {
+        double[] x = new double[range.count()];
+        double value = range.begin();
+        for (int i = 0; i < x.length; i++) {
+            x[i] = value;
+            value += range.step();
+        }
+        return x;
+    }
+}
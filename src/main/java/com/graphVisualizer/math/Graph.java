@@ -1,10 +1,15 @@
 package com.graphVisualizer.math;
 
-import com.fathzer.soft.javaluator.StaticVariableSet;
 import com.graphVisualizer.utils.ConfigLoader;
+import com.graphVisualizer.utils.LatencyHistogram;
+import jdk.jfr.EventType;
 
 import java.awt.*;
-import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * The {@code Graph} class represents a graphical representation of a mathematical curve.
@@ -13,45 +18,118 @@ import java.awt.geom.Line2D;
  */
 public class Graph {
     /**
-     * The interval between each calculated point on the graph.
-     * This variable is used to determine the step size for iterating through the range of the graph.
-     * Its value is loaded from a configuration file using the key "g.step".
+     * The type of the {@code CurveBuildEvent}s, which are only created while it is enabled in a recording,
+     * since the curve is calculated again for every move of the viewport.
+     */
+    private static final EventType CURVE_BUILD_EVENT = EventType.getEventType(CurveBuildEvent.class);
+    /**
+     * The number of fixed-step samples per pixel column of the viewport.
+     * Its value is loaded from a configuration file using the key "viewport.samplesPerPixel".
      *
      * @see ConfigLoader
      */
-    private final double step = ConfigLoader.getDouble("g.step");
-
+    private final double samplesPerPixel = ConfigLoader.getDouble("viewport.samplesPerPixel");
     /**
-     * This variable represents the scaling factor for adjusting the graph's size and spacing.
-     * It is initialized with a value retrieved from the application configuration using the key "g.scale".
+     * The number of pixels sampled beyond each side of the viewport, so that the curve does not end abruptly
+     * at its edges. Loaded from the configuration using the key "viewport.margin".
      */
-    private final double scale = ConfigLoader.getDouble("g.scale");
+    private final int margin = ConfigLoader.getInt("viewport.margin");
     /**
-     * The starting point of the graph curve calculation.
+     * The smallest x of the graph: the visible part of the curve is never sampled below it.
      * Initialized from the configuration property "g.begin".
+     *
+     * @see #setDomain(double, double)
      */
-    private final int begin = ConfigLoader.getInt("g.begin");
+    private double begin = ConfigLoader.getInt("g.begin");
     /**
      * The {@code end} variable represents the endpoint value of the graph on the x-axis,
      * loaded from the application configuration.
      * This value determines the upper limit of the x-axis range for the {@code Graph}.
+     *
+     * @see #setDomain(double, double)
+     */
+    private double end = ConfigLoader.getInt("g.end");
+    /**
+     * The part of the plane the graph is drawn on.
+     *
+     * @see #setViewport(Viewport)
+     */
+    private Viewport viewport;
+    /**
+     * The range sampled by the graph: the visible part of the x axis, between {@code begin} and {@code end},
+     * with {@code samplesPerPixel} samples per pixel column for a fixed-step sampling.
+     *
+     * @see Viewport#samplingRange(double, int, double, double)
+     */
+    private volatile SamplingRange range;
+    /**
+     * Decides at which values of x the expression is evaluated.
+     * Loaded from the configuration using the key "sampling.strategy".
+     *
+     * @see SamplingStrategy#fromConfig()
+     */
+    private SamplingStrategy samplingStrategy = SamplingStrategy.fromConfig();
+    /**
+     * Finds where the curve breaks, so that it is not drawn across asymptotes and jumps.
+     * Configured with the keys "curve.jumpThreshold" and "curve.refineIterations".
+     *
+     * @see Discontinuities#fromConfig()
      */
-    private final int end = ConfigLoader.getInt("g.end");
+    private final Discontinuities discontinuities = Discontinuities.fromConfig();
     /**
-     * Represents an array of pre-calculated values for plotting a graph curve.
-     * The size of the array is determined by the range specified by the {@code begin} and {@code end} values,
-     * divided by the {@code step} value. These values are loaded from configuration settings.
+     * Represents the pre-calculated points for plotting a graph curve.
+     * <p>
+     * New samples are computed separately, and then replace these as a whole,
+     * so partially computed samples are never used to calculate the curve.
      *
      * @see Graph#calculateGraphCurve(int, int) for usage in plotting the graph.
      * @see Graph#setValuesFromExpression(String) for setting values based on an expression.
      */
-    private final double[] values;
+    private volatile CurveSamples samples;
     /**
-     * An array of {@code Line2D} objects representing the lines or segments that form the graph.
-     * Each {@code Line2D} object in this array corresponds to a segment between two consecutive
-     * calculated data points on the graph.
+     * The screen coordinates of the points of the curve, as consecutive {@code x, y} pairs.
+     * The buffer is only reallocated when the number of points grows beyond its capacity.
+     *
+     * @see #calculateGraphCurve(int, int)
+     */
+    private float[] coordinates = new float[0];
+    /**
+     * The number of points in {@link #coordinates}: one per sample, and one more at each jump of the curve.
+     */
+    private int screenPoints;
+    /**
+     * The width, in pixels, of the columns the curve is decimated into.
+     *
+     * @see #setColumnWidth(float)
      */
-    private final Line2D[] lines;
+    private float columnWidth = 1;
+    /**
+     * The points of the curve kept by {@link PolylineDecimator}, as {@code x, y} pairs, reused like
+     * {@link #coordinates}.
+     */
+    private float[] decimated = new float[0];
+    /**
+     * The curve as a single shape, made of the segments between consecutive points of which at least one end
+     * is on the screen. It is reset and rebuilt in place, so its buffers are reused as well.
+     */
+    private final Path2D.Float path = new Path2D.Float();
+    /**
+     * The pixels covered by {@link #path}, clipped to the screen; replaced by every calculation of the curve,
+     * so that the previous bounds stay valid for whoever kept them.
+     */
+    private Rectangle curveBounds = new Rectangle(0, 0, -1, -1);
+    /**
+     * The number of segments in {@link #path}.
+     */
+    private int segments;
+    /**
+     * The durations of the complete evaluations of the expression, refinement of the jumps included, and the
+     * duration of the last one, in nanoseconds. Evaluations may run on any thread.
+     *
+     * @see #sampleExpression(CompiledExpression, BooleanSupplier)
+     */
+    private final LatencyHistogram evaluationLatency = new LatencyHistogram();
+    private volatile long evaluationNanos;
     /**
      * A boolean flag indicating whether the graph is currently visible.
      * This variable is used to control the rendering of the graph in the UI.
@@ -69,58 +147,483 @@ public class Graph {
     private String expression;
 
     /**
-     * Constructs a new Graph object. Initializes the 'values' array based on the
-     * range from 'begin' to 'end' with a specified 'step' size, and initializes the 'lines'
-     * array to store line segments representing the graph.
-     * <p>
-     * The 'lines' array is set such that each 'Line2D' object is initialized to represent
-     * a line segment with default coordinates (0.0, 0.0, 0.0, 0.0).
+     * Constructs a new Graph object, drawn on the configured viewport. Initializes the samples to a fixed-step
+     * range over the visible part of the x axis, where every value is 0. The curve is empty until it is
+     * calculated.
      */
     public Graph() {
-        values = new double[(int) Math.ceil((end - begin) / step)];
-        lines = new Line2D[values.length - 1];
-        for (int i = 0; i < values.length - 1; i++) {
-            lines[i] = new Line2D.Double(0.0, 0.0, 0.0, 0.0);
-        }
+        setViewport(Viewport.fromConfig());
+        samples = new CurveSamples(range, FixedStepSampling.points(range), new double[range.count()]);
     }
 
     /**
-     * Calculates and sets the position of the graph curve's line segments based on the given center coordinates.
-     * The method iterates over the values array and updates the lines array to represent the curve.
+     * Calculates the screen coordinates of the samples based on the given center coordinates, and rebuilds
+     * the path of the curve from them.
+     * <p>
+     * A non-finite point is inserted in the middle of every jump of the curve, so that it is broken there.
+     * The points sharing a pixel column are then decimated to at most four, so the path has a number of
+     * vertices bounded by the width of the screen, whatever the number of samples.
+     * Segments with no end on the screen, and segments with a non-finite end, are left out of the path,
+     * so it is drawn with a single call whatever the samples are. The bounds of the path on the screen are
+     * computed along.
      *
      * @param centerX the X coordinate of the graph's center
      * @param centerY the Y coordinate of the graph's center
      */
     public void calculateGraphCurve(int centerX, int centerY) {
-        for (int i = 1; i < values.length - 1; i++) {
-            lines[i].setLine(
-                    begin * scale + (i - 1) * scale * step + centerX,
-                    values[i - 1] * (-1) * scale + centerY,
-                    begin * scale + (i) * scale * step + centerX,
-                    values[i] * (-1) * scale + centerY);
+        CurveBuildEvent event = CURVE_BUILD_EVENT.isEnabled() ? new CurveBuildEvent() : null;
+        if (event != null) event.begin();
+        double scale = viewport.scale();
+        int width = viewport.width();
+        int height = viewport.height();
+        double[] x = samples.x();
+        double[] y = samples.y();
+        int count = samples.size();
+        if (coordinates.length < 2 * count) {
+            coordinates = new float[2 * count];
+        }
+        screenPoints = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && Double.isFinite(y[i - 1]) && Double.isFinite(y[i]) && discontinuities.isJump(y, i - 1, scale)) {
+                // A non-finite point between the ends of the jump splits the polyline
+                addScreenPoint(((x[i - 1] + x[i]) / 2) * scale + centerX, Double.NaN, count - i);
+            }
+            addScreenPoint(x[i] * scale + centerX, y[i] * (-1) * scale + centerY, count - i - 1);
+        }
+        if (decimated.length < coordinates.length) {
+            decimated = new float[coordinates.length];
+        }
+        int points = PolylineDecimator.decimate(coordinates, screenPoints, columnWidth, decimated);
+
+        path.reset();
+        segments = 0;
+        boolean penDown = false;
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i + 1 < points; i++) {
+            float x1 = decimated[2 * i];
+            float y1 = decimated[2 * i + 1];
+            float x2 = decimated[2 * i + 2];
+            float y2 = decimated[2 * i + 3];
+            boolean visible = Float.isFinite(y1) && Float.isFinite(y2)
+                    && (isOnScreen(x1, y1, width, height) || isOnScreen(x2, y2, width, height));
+            if (visible) {
+                // An end far off the screen is moved along the segment, so that no segment is much longer
+                // than the screen; only one of the ends can be off the screen
+                boolean clipped = y1 < -height || y1 > 2 * height;
+                if (clipped) {
+                    float limit = y1 < 0 ? -height : 2 * height;
+                    x1 = x2 + (x1 - x2) * (limit - y2) / (y1 - y2);
+                    y1 = limit;
+                } else if (y2 < -height || y2 > 2 * height) {
+                    float limit = y2 < 0 ? -height : 2 * height;
+                    x2 = x1 + (x2 - x1) * (limit - y1) / (y2 - y1);
+                    y2 = limit;
+                }
+                if (!penDown || clipped) path.moveTo(x1, y1);
+                path.lineTo(x2, y2);
+                segments++;
+                minX = Math.min(minX, Math.min(x1, x2));
+                maxX = Math.max(maxX, Math.max(x1, x2));
+                minY = Math.min(minY, Math.min(y1, y2));
+                maxY = Math.max(maxY, Math.max(y1, y2));
+            }
+            penDown = visible;
+        }
+
+        if (minX > maxX) {
+            curveBounds = new Rectangle(0, 0, -1, -1);
+        } else {
+            int left = (int) Math.floor(Math.max(0, minX));
+            int top = (int) Math.floor(Math.max(0, minY));
+            int right = (int) Math.ceil(Math.min(width, maxX));
+            int bottom = (int) Math.ceil(Math.min(height, maxY));
+            curveBounds = new Rectangle(left, top, right - left, bottom - top);
+        }
+        if (event != null && event.shouldCommit()) {
+            event.expression = expression;
+            event.samples = count;
+            event.points = points;
+            event.segments = segments;
+            event.commit();
         }
     }
 
     /**
-     * Sets the values array for the graph based on the provided mathematical expression.
-     * The expression is evaluated for a range of x values from 'begin' to the end of the values array,
-     * with a step size specified by 'step'.
+     * Appends a point to {@link #coordinates}, growing the buffer if it is full.
+     *
+     * @param remaining the number of points that will be appended after this one, at least
+     */
+    private void addScreenPoint(double x, double y, int remaining) {
+        if (2 * (screenPoints + 1) > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, 2 * (screenPoints + 1 + remaining) + 16);
+        }
+        coordinates[2 * screenPoints] = (float) x;
+        coordinates[2 * screenPoints + 1] = (float) y;
+        screenPoints++;
+    }
+
+    /**
+     * Determines if a point is inside a screen of the given size.
+     */
+    private static boolean isOnScreen(float x, float y, int width, int height) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Sets the samples of the graph based on the provided mathematical expression.
+     * The expression is evaluated for the visible x values between 'begin' and 'end', chosen by the sampling
+     * strategy.
+     * <p>
+     * The expression is compiled only once, and the compiled expression is evaluated for every x.
+     * If the evaluation fails, the previous samples are kept.
      *
      * @param expression a mathematical expression to be evaluated. The expression should be a valid mathematical
      *                   expression where 'x' is the variable.
      * @throws IllegalArgumentException if the provided expression is invalid or cannot be evaluated.
+     * @see ExpressionCompiler#compile(String)
+     * @see SamplingStrategy
      */
     public void setValuesFromExpression(String expression) throws IllegalArgumentException {
         this.expression = expression;
-        CustomEvaluator evaluator = new CustomEvaluator();
-        StaticVariableSet<Double> variables = new StaticVariableSet<>();
+        samples = sampleExpression(expression, ExpressionCompiler.compile(expression), () -> false);
+    }
+
+    /**
+     * Samples a compiled expression over the range of the graph with its sampling strategy, without changing
+     * the graph, and refines the jumps of the curve. This can be called from any thread; the result is then
+     * published with {@link #setSamples(String, CurveSamples)}. The duration of a complete evaluation is recorded.
+     *
+     * @param compiled  the compiled expression
+     * @param cancelled checked while sampling; once it returns true, the rest of the range may be skipped
+     * @return the samples, which are incomplete if {@code cancelled} returned true
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     * @see SamplingStrategy#sample(CompiledExpression, SamplingRange, BooleanSupplier)
+     * @see Discontinuities#refine(CompiledExpression, CurveSamples, BooleanSupplier)
+     */
+    public CurveSamples sampleExpression(CompiledExpression compiled, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        return sampleExpression(expression, compiled, cancelled);
+    }
+
+    /**
+     * Samples a compiled expression like {@link #sampleExpression(CompiledExpression, BooleanSupplier)}, for an
+     * expression that may not be the one of the graph yet. The source is only used to identify the evaluation
+     * in the {@code GraphSamplingEvent}.
+     *
+     * @param expression the source of the compiled expression
+     * @param compiled   the compiled expression
+     * @param cancelled  checked while sampling; once it returns true, the rest of the range may be skipped
+     * @return the samples, which are incomplete if {@code cancelled} returned true
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    public CurveSamples sampleExpression(String expression, CompiledExpression compiled, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        GraphSamplingEvent event = new GraphSamplingEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CurveSamples sampled = discontinuities.refine(compiled, samplingStrategy.sample(compiled, range, cancelled),
+                cancelled);
+        if (!cancelled.getAsBoolean()) recordEvaluation(event, start, expression, sampled);
+        return sampled;
+    }
+
+    /**
+     * Samples a compiled expression over the current range of the graph like
+     * {@link #sampleExpression(CompiledExpression, BooleanSupplier)}, but reuses the fixed-step samples of
+     * {@code previous} where the ranges overlap, so that only the part of the x axis that was scrolled into view
+     * is evaluated. Samples of another strategy or another step are not reused, and neither are samples whose
+     * jumps were refined, since they are not at a fixed step any more.
+     *
+     * @param compiled  the compiled expression, which {@code previous} was sampled from
+     * @param previous  the samples to be reused
+     * @param cancelled checked while sampling; once it returns true, the rest of the range may be skipped
+     * @return the samples over the current range
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    public CurveSamples resample(CompiledExpression compiled, CurveSamples previous, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        GraphSamplingEvent event = new GraphSamplingEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CurveSamples sampled = discontinuities.refine(compiled, reuseOverlap(compiled, previous, cancelled),
+                cancelled);
+        if (!cancelled.getAsBoolean()) recordEvaluation(event, start, expression, sampled);
+        return sampled;
+    }
+
+    /**
+     * Records a complete evaluation, which started at {@code start}, when the event began.
+     */
+    private void recordEvaluation(GraphSamplingEvent event, long start, String expression, CurveSamples sampled) {
+        long nanos = System.nanoTime() - start;
+        evaluationNanos = nanos;
+        evaluationLatency.record(nanos);
+        if (event.shouldCommit()) {
+            event.expression = expression;
+            event.samples = sampled.size();
+            event.commit();
+        }
+    }
+
+    private CurveSamples reuseOverlap(CompiledExpression compiled, CurveSamples previous, BooleanSupplier cancelled)
+            throws IllegalArgumentException {
+        SamplingRange target = range;
+        SamplingRange reused = previous.range();
+        if (!(samplingStrategy instanceof FixedStepSampling) || reused.step() != target.step()
+                || reused.count() != previous.size()) {
+            return samplingStrategy.sample(compiled, target, cancelled);
+        }
+        long offset = Math.round((reused.begin() - target.begin()) / target.step());
+        int from = (int) Math.max(0, Math.min(target.count(), offset));
+        int to = (int) Math.max(0, Math.min(target.count(), offset + reused.count()));
+        if (from >= to) {
+            return samplingStrategy.sample(compiled, target, cancelled);
+        }
+        double[] y = new double[target.count()];
+        if (from > 0) {
+            SamplingRange left = new SamplingRange(target.begin(), target.step(), from, target.scale());
+            System.arraycopy(samplingStrategy.sample(compiled, left, cancelled).y(), 0, y, 0, from);
+        }
+        System.arraycopy(previous.y(), (int) (from - offset), y, from, to - from);
+        if (to < y.length) {
+            SamplingRange right = new SamplingRange(target.begin() + to * target.step(), target.step(),
+                    y.length - to, target.scale());
+            System.arraycopy(samplingStrategy.sample(compiled, right, cancelled).y(), 0, y, to, y.length - to);
+        }
+        return new CurveSamples(target, FixedStepSampling.points(target), y);
+    }
+
+    /**
+     * Determines if the samples of the graph were computed for the given range, or for a coarser version of it.
+     *
+     * @param range the range to be checked
+     * @return true if the samples start at the beginning of {@code range}, at the same scale
+     */
+    public boolean isSampledFor(SamplingRange range) {
+        SamplingRange sampled = samples.range();
+        return sampled.begin() == range.begin() && sampled.scale() == range.scale();
+    }
+
+    /**
+     * Samples a compiled expression at every {@code stride}-th x of the fixed-step range only, whatever the
+     * sampling strategy. This is a quick preview of {@link #sampleExpression}, which evaluates the expression
+     * {@code stride} times less than a fixed-step sampling.
+     *
+     * @param compiled the compiled expression
+     * @param stride   the distance, in steps, between two samples
+     * @return the coarse samples
+     * @throws IllegalArgumentException if the expression cannot be evaluated at one of the samples
+     */
+    public CurveSamples samplePreview(CompiledExpression compiled, int stride) throws IllegalArgumentException {
+        SamplingRange coarse = range.coarser(stride);
+        double[] values = new double[coarse.count()];
+        compiled.sample(coarse.begin(), coarse.step(), values);
+        return new CurveSamples(coarse, FixedStepSampling.points(coarse), values);
+    }
+
+    /**
+     * Replaces the expression and the samples of the graph at once.
+     * This should be called on the thread that calculates the curve, which is the Event Dispatch Thread.
+     *
+     * @param expression the expression the samples were computed from
+     * @param samples    the complete samples, as returned by {@link #sampleExpression(CompiledExpression, BooleanSupplier)}
+     */
+    public void setSamples(String expression, CurveSamples samples) {
+        this.expression = expression;
+        this.samples = samples;
+    }
+
+    /**
+     * Retrieves the points the curve is calculated from.
+     *
+     * @return the samples of the graph
+     */
+    public CurveSamples getSamples() {
+        return samples;
+    }
+
+    /**
+     * Retrieves the part of the plane the graph is drawn on.
+     *
+     * @return the viewport of the graph
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Sets the part of the plane the graph is drawn on, which decides the range of x to be sampled.
+     * The current samples are kept until the expression is evaluated again.
+     *
+     * @param viewport the new viewport
+     * @see Viewport#samplingRange(double, int, double, double)
+     */
+    public void setViewport(Viewport viewport) {
+        this.viewport = viewport;
+        this.range = viewport.samplingRange(samplesPerPixel, margin, begin, end);
+    }
 
-        for (double x = begin, i = 0; i < values.length; x += step, i += 1) {
-            variables.set("x", x);
-            values[(int) i] = evaluator.evaluate(expression, variables);
+    /**
+     * Sets the part of the x axis the graph may be sampled on, in place of the configured "g.begin" and
+     * "g.end". The current samples are kept until the expression is evaluated again.
+     *
+     * @param begin the smallest x that may be sampled
+     * @param end   the largest x that may be sampled
+     * @throws IllegalArgumentException if the domain is empty
+     * @see #setViewport(Viewport)
+     */
+    public void setDomain(double begin, double end) throws IllegalArgumentException {
+        if (!(end > begin)) throw new IllegalArgumentException("Empty domain: " + begin + ":" + end);
+        this.begin = begin;
+        this.end = end;
+        this.range = viewport.samplingRange(samplesPerPixel, margin, begin, end);
+    }
+
+    /**
+     * Retrieves the range of x sampled by the next evaluation.
+     *
+     * @return the sampling range of the graph
+     */
+    public SamplingRange getSamplingRange() {
+        return range;
+    }
+
+    /**
+     * Retrieves the strategy choosing the values of x at which the expression is evaluated.
+     *
+     * @return the sampling strategy of the graph
+     */
+    public SamplingStrategy getSamplingStrategy() {
+        return samplingStrategy;
+    }
+
+    /**
+     * Sets the level of detail of the curve: the points are decimated to at most four per column of
+     * {@code columnWidth} pixels. The curve is changed by the next calculation.
+     *
+     * @param columnWidth the width of a column, in pixels; 1 keeps every pixel of the curve
+     * @see PolylineDecimator
+     */
+    public void setColumnWidth(float columnWidth) {
+        this.columnWidth = columnWidth;
+    }
+
+    /**
+     * Sets the strategy choosing the values of x at which the expression is evaluated.
+     * The current samples are kept until the expression is evaluated again.
+     *
+     * @param samplingStrategy the new sampling strategy
+     */
+    public void setSamplingStrategy(SamplingStrategy samplingStrategy) {
+        this.samplingStrategy = samplingStrategy;
+    }
+
+    /**
+     * Sets the samples of several graphs at once. When all of them sample the same range at a fixed step,
+     * this goes through a shared {@code EvaluationPlan}: sub-expressions that appear in more than one expression
+     * are evaluated only once per x, and every expression is parsed once. Otherwise, each graph is sampled with
+     * its own strategy.
+     * <p>
+     * An invalid expression, or an invalid argument in one expression, does not stop the others from being
+     * sampled. Only the graphs that were sampled completely get their new samples.
+     *
+     * @param graphs      the graphs to be set
+     * @param expressions the mathematical expressions of the graphs, in the same order
+     * @throws IllegalArgumentException if one of the expressions is invalid or cannot be evaluated;
+     *                                  the error of the first such graph is thrown once all graphs are set
+     * @see EvaluationPlan
+     * @see ParallelSampler
+     */
+    public static void setValuesFromExpressions(List<Graph> graphs, List<String> expressions)
+            throws IllegalArgumentException {
+        for (int i = 0; i < graphs.size(); i++) {
+            graphs.get(i).expression = expressions.get(i);
+        }
+        if (graphs.isEmpty()) return;
+
+        IllegalArgumentException[] errors = new IllegalArgumentException[graphs.size()];
+        SamplingRange range = graphs.get(0).range;
+        if (graphs.stream().allMatch(graph -> graph.samplingStrategy instanceof FixedStepSampling
+                && graph.range.equals(range))) {
+            CurveSamples[] sampled = new CurveSamples[graphs.size()];
+            errors = sampleTogether(graphs, expressions, sampled, () -> false);
+            for (int i = 0; i < sampled.length; i++) {
+                if (sampled[i] != null) graphs.get(i).samples = sampled[i];
+            }
+        } else {
+            for (int i = 0; i < graphs.size(); i++) {
+                try {
+                    graphs.get(i).samples = graphs.get(i).sampleExpression(expressions.get(i),
+                            ExpressionCompiler.compile(expressions.get(i)), () -> false);
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e;
+                }
+            }
+        }
+        for (IllegalArgumentException error : errors) {
+            if (error != null) throw error;
         }
     }
 
+    /**
+     * Samples several graphs over their common fixed-step range through a shared {@code EvaluationPlan}, and
+     * refines their jumps, without setting their samples. Every expression is parsed on its own, so that an
+     * invalid one is only left out of the plan.
+     * <p>
+     * Safe to call off the Event Dispatch Thread, as long as the ranges of the graphs do not change meanwhile.
+     * The samples of the graphs are not reused, even where the ranges overlap.
+     *
+     * @param graphs      the graphs, which all sample the same range at a fixed step
+     * @param expressions the expressions of the graphs, in the same order
+     * @param samples     receives the samples of each graph, or {@code null} for a graph whose expression failed
+     * @param cancelled   checked between the refinements of the jumps; once it returns true, the remaining
+     *                    samples may be incomplete
+     * @return one element per graph: the error its expression raised when parsed or evaluated, or {@code null}
+     * @see EvaluationPlan
+     */
+    public static IllegalArgumentException[] sampleTogether(List<Graph> graphs, List<String> expressions,
+                                                            CurveSamples[] samples, BooleanSupplier cancelled) {
+        // The expressions are evaluated together, so each of them takes as long as all of them
+        GraphSamplingEvent[] events = new GraphSamplingEvent[graphs.size()];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new GraphSamplingEvent();
+            events[i].begin();
+        }
+        long start = System.nanoTime();
+        IllegalArgumentException[] errors = new IllegalArgumentException[graphs.size()];
+        List<ExpressionNode> roots = new ArrayList<>();
+        int[] planned = new int[graphs.size()];
+        for (int i = 0; i < graphs.size(); i++) {
+            try {
+                roots.add(ExpressionSimplifier.simplify(ExpressionCompiler.parse(expressions.get(i))));
+                planned[roots.size() - 1] = i;
+            } catch (IllegalArgumentException e) {
+                errors[i] = e;
+            }
+        }
+
+        SamplingRange range = graphs.get(0).range;
+        EvaluationPlan plan = EvaluationPlan.of(roots);
+        double[][] values = new double[roots.size()][range.count()];
+        IllegalArgumentException[] planErrors = ParallelSampler.getDefault().sample(plan, range.begin(),
+                range.step(), values);
+        double[] x = FixedStepSampling.points(range);
+        for (int k = 0; k < roots.size(); k++) {
+            int i = planned[k];
+            if (planErrors[k] != null) {
+                errors[i] = planErrors[k];
+                continue;
+            }
+            // The jumps take a few evaluations each, which the tree of the plan does without compiling
+            Graph graph = graphs.get(i);
+            samples[i] = graph.discontinuities.refine(plan.getRoot(k), new CurveSamples(range, x, values[k]),
+                    cancelled);
+            if (!cancelled.getAsBoolean()) graph.recordEvaluation(events[i], start, expressions.get(i), samples[i]);
+        }
+        return errors;
+    }
+
     /**
      * Checks if the graph is currently visible.
      *
@@ -131,12 +634,68 @@ public class Graph {
     }
 
     /**
-     * Retrieves the array of line segments that represent the graph.
+     * Retrieves the curve of the graph, as calculated by the last call to {@link #calculateGraphCurve(int, int)}.
+     *
+     * @return the path made of the visible segments of the curve
+     */
+    public Path2D getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the screen coordinates of the points of the curve.
+     *
+     * @return {@code x, y} pairs, of which the first {@link #getScreenPointCount()} were calculated by the last
+     * call to {@link #calculateGraphCurve(int, int)}; a jump of the curve is a point with a non-finite {@code y}
+     */
+    public float[] getScreenCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Retrieves the number of points in {@link #getScreenCoordinates()}.
+     *
+     * @return the number of samples, plus the number of jumps, when the curve was last calculated
+     */
+    public int getScreenPointCount() {
+        return screenPoints;
+    }
+
+    /**
+     * Retrieves the part of the screen covered by the curve, before it is stroked.
+     *
+     * @return the bounds of {@link #getPath()} within the screen, with a negative size if nothing is drawn;
+     * the rectangle is not modified by later calculations
+     */
+    public Rectangle getCurveBounds() {
+        return curveBounds;
+    }
+
+    /**
+     * Retrieves the number of segments drawn for the curve.
+     *
+     * @return the number of segments of {@link #getPath()}
+     */
+    public int getSegmentCount() {
+        return segments;
+    }
+
+    /**
+     * Retrieves how long the last complete evaluation of the expression took.
+     *
+     * @return the duration, in nanoseconds, or 0 if the expression was never evaluated
+     */
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+
+    /**
+     * Retrieves the durations of the complete evaluations of the expression.
      *
-     * @return an array of Line2D objects representing the line segments of the graph.
+     * @return the histogram of the durations, in nanoseconds
      */
-    public Line2D[] getLines() {
-        return lines;
+    public LatencyHistogram getEvaluationLatency() {
+        return evaluationLatency;
     }
 
     /**
@@ -0,0 +1,28 @@
+package com.graphVisualizer.math;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a complete evaluation of the expression of a graph over its range, refinement of
+ * the jumps included.
+ *
+ * @see Graph#sampleExpression(String, CompiledExpression, java.util.function.BooleanSupplier)
+ */
+@Name("com.graphVisualizer.GraphSampling")
+@Label("Graph Sampling")
+@Category({"Graph Visualizer", "Evaluation"})
+@Description("The expression of a graph sampled over the visible range")
+@StackTrace(false)
+final class GraphSamplingEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Samples")
+    int samples;
+}
@@ -0,0 +1,267 @@
+package com.graphVisualizer.math;
+
+/**
+ * Enumerates the operators and functions understood by {@code CustomEvaluator}, together with their
+ * evaluation semantics on primitive {@code double} values.
+ * <p>
+ * The semantics mirror {@code CustomEvaluator} exactly: division by zero yields a signed infinity (or zero),
+ * {@code sqrt(0)} is zero, {@code log(0)} and {@code ln(0)} are negative infinity, and every function inherited
+ * from {@code DoubleEvaluator} throws an {@code IllegalArgumentException} when its result is {@code NaN}.
+ *
+ * @see CustomEvaluator
+ * @see OperationNode
+ */
+public enum MathOperation {
+    NEGATE("-", 1, false, false),
+    ADD("+", 2, false, false),
+    SUBTRACT("-", 2, false, false),
+    MULTIPLY("*", 2, false, false),
+    DIVIDE("/", 2, false, false),
+    POWER("^", 2, false, false),
+    MODULO("%", 2, false, false),
+    ABS("abs", 1, true, true),
+    CEIL("ceil", 1, true, true),
+    FLOOR("floor", 1, true, true),
+    ROUND("round", 1, true, true),
+    SIN("sin", 1, true, true),
+    COS("cos", 1, true, true),
+    TAN("tan", 1, true, true),
+    ASIN("asin", 1, true, true),
+    ACOS("acos", 1, true, true),
+    ATAN("atan", 1, true, true),
+    SINH("sinh", 1, true, true),
+    COSH("cosh", 1, true, true),
+    TANH("tanh", 1, true, true),
+    LN("ln", 1, true, false),
+    LOG("log", 1, true, false),
+    SQRT("sqrt", 1, true, false),
+    MIN("min", MathOperation.VARIADIC, true, true),
+    MAX("max", MathOperation.VARIADIC, true, true),
+    SUM("sum", MathOperation.VARIADIC, true, true),
+    AVG("avg", MathOperation.VARIADIC, true, true),
+    RANDOM("random", 0, true, true);
+
+    /**
+     * The arity used by functions that accept one or more arguments, such as {@code min} or {@code sum}.
+     */
+    public static final int VARIADIC = -1;
+
+    /**
+     * The operator symbol or function name, as written in an expression.
+     */
+    private final String symbol;
+
+    /**
+     * The number of operands, or {@link #VARIADIC} for functions with a variable argument count.
+     */
+    private final int arity;
+
+    /**
+     * True for named functions, false for operators.
+     */
+    private final boolean function;
+
+    /**
+     * True if a {@code NaN} result has to be reported as an {@code IllegalArgumentException},
+     * as {@code DoubleEvaluator} does for its own functions.
+     */
+    private final boolean nanChecked;
+
+    MathOperation(String symbol, int arity, boolean function, boolean nanChecked) {
+        this.symbol = symbol;
+        this.arity = arity;
+        this.function = function;
+        this.nanChecked = nanChecked;
+    }
+
+    /**
+     * @return the operator symbol or the function name
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the number of operands, or {@link #VARIADIC}
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * @return true if the operation accepts a variable number of arguments
+     */
+    public boolean isVariadic() {
+        return arity == VARIADIC;
+    }
+
+    /**
+     * @return true if the operation is written as a function call, false if it is an operator
+     */
+    public boolean isFunction() {
+        return function;
+    }
+
+    /**
+     * @return true if a {@code NaN} result of this operation is an evaluation error
+     * @see #check(double)
+     */
+    public boolean isNanChecked() {
+        return nanChecked;
+    }
+
+    /**
+     * Determines if the operation always gives the same result for the same operands.
+     *
+     * @return false only for {@code random}
+     */
+    public boolean isDeterministic() {
+        return this != RANDOM;
+    }
+
+    /**
+     * Applies a unary operation.
+     *
+     * @param a the operand
+     * @return the unchecked result
+     * @throws IllegalStateException if the operation is not unary
+     * @see #check(double)
+     */
+    public double apply(double a) {
+        return switch (this) {
+            case NEGATE -> -a;
+            case ABS -> Math.abs(a);
+            case CEIL -> Math.ceil(a);
+            case FLOOR -> Math.floor(a);
+            case ROUND -> round(a);
+            case SIN -> Math.sin(a);
+            case COS -> Math.cos(a);
+            case TAN -> Math.tan(a);
+            case ASIN -> Math.asin(a);
+            case ACOS -> Math.acos(a);
+            case ATAN -> Math.atan(a);
+            case SINH -> Math.sinh(a);
+            case COSH -> Math.cosh(a);
+            case TANH -> Math.tanh(a);
+            case LN -> ln(a);
+            case LOG -> log(a);
+            case SQRT -> sqrt(a);
+            default -> throw new IllegalStateException(symbol + " is not a unary operation");
+        };
+    }
+
+    /**
+     * Applies a binary operation, or combines two arguments of {@code min} or {@code max}.
+     *
+     * @param a the left operand (or accumulator)
+     * @param b the right operand
+     * @return the unchecked result
+     * @throws IllegalStateException if the operation is not binary or variadic
+     * @see #check(double)
+     */
+    public double apply(double a, double b) {
+        return switch (this) {
+            case ADD -> a + b;
+            case SUBTRACT -> a - b;
+            case MULTIPLY -> a * b;
+            case DIVIDE -> divide(a, b);
+            case POWER -> Math.pow(a, b);
+            case MODULO -> a % b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+            default -> throw new IllegalStateException(symbol + " is not a binary operation");
+        };
+    }
+
+    /**
+     * Validates the result of this operation the way {@code DoubleEvaluator} does.
+     *
+     * @param result the result of the operation
+     * @return the {@code result} unchanged
+     * @throws IllegalArgumentException if the operation is {@linkplain #isNanChecked() NaN checked}
+     *                                  and the result is {@code NaN}
+     */
+    public double check(double result) {
+        return nanChecked ? check(result, symbol) : result;
+    }
+
+    /**
+     * Reports a {@code NaN} result of a function, with the message of {@code DoubleEvaluator}.
+     *
+     * @param result the result of the function
+     * @param symbol the name of the function
+     * @return the {@code result} unchanged
+     * @throws IllegalArgumentException if the result is {@code NaN}
+     */
+    static double check(double result, String symbol) {
+        if (Double.isNaN(result)) {
+            throw new IllegalArgumentException("Invalid argument passed to " + symbol);
+        }
+        return result;
+    }
+
+    /**
+     * Division with the custom division-by-zero behaviour of {@code CustomEvaluator}.
+     *
+     * @param a the numerator
+     * @param b the denominator
+     * @return {@code a / b}, or a signed infinity (zero for a non-signed numerator) if {@code b} is zero
+     */
+    static double divide(double a, double b) {
+        if (b == 0) {
+            if (a > 0) {
+                return Double.POSITIVE_INFINITY;
+            } else if (a < 0) {
+                return Double.NEGATIVE_INFINITY;
+            } else {
+                return 0.0;
+            }
+        }
+        return a / b;
+    }
+
+    /**
+     * Square root with {@code sqrt(0) = 0}, as implemented by {@code CustomEvaluator}.
+     *
+     * @param a the argument
+     * @return the square root of {@code a}
+     */
+    static double sqrt(double a) {
+        if (a == 0) return 0.0;
+        return Math.sqrt(a);
+    }
+
+    /**
+     * Natural logarithm with {@code ln(0) = -Infinity}, as implemented by {@code CustomEvaluator}.
+     *
+     * @param a the argument
+     * @return the natural logarithm of {@code a}
+     */
+    static double ln(double a) {
+        if (a == 0) return Double.NEGATIVE_INFINITY;
+        return Math.log(a);
+    }
+
+    /**
+     * Base 10 logarithm with {@code log(0) = -Infinity}, as implemented by {@code CustomEvaluator}.
+     *
+     * @param a the argument
+     * @return the base 10 logarithm of {@code a}
+     */
+    static double log(double a) {
+        if (a == 0) return Double.NEGATIVE_INFINITY;
+        return Math.log10(a);
+    }
+
+    /**
+     * Rounding as implemented by {@code DoubleEvaluator}: infinities are kept, everything else goes
+     * through {@link Math#round(double)}.
+     *
+     * @param a the argument
+     * @return the rounded value
+     */
+    static double round(double a) {
+        if (a == Double.NEGATIVE_INFINITY || a == Double.POSITIVE_INFINITY) return a;
+        return (double) Math.round(a);
+    }
+}
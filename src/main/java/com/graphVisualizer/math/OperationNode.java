@@ -0,0 +1,105 @@
+package com.graphVisualizer.math;
+
+import java.util.List;
+
+/**
+ * An operator or function application of an expression tree.
+ * <p>
+ * The operands are evaluated from left to right before the operation itself, so evaluation errors are
+ * reported in the same order as {@code CustomEvaluator} reports them.
+ *
+ * @see MathOperation
+ * @see ExpressionNode
+ */
+public final class OperationNode extends ExpressionNode {
+
+    /**
+     * The operation applied to the operands.
+     */
+    private final MathOperation operation;
+
+    /**
+     * The operands of the operation, in evaluation order.
+     */
+    private final ExpressionNode[] operands;
+
+    /**
+     * Creates an operation node.
+     *
+     * @param operation the operation to apply
+     * @param operands  the operands of the operation
+     * @throws IllegalArgumentException if the number of operands does not match the arity of the operation
+     */
+    public OperationNode(MathOperation operation, ExpressionNode... operands) {
+        if (operation.isVariadic() ? operands.length == 0 : operands.length != operation.getArity()) {
+            throw new IllegalArgumentException("Wrong number of operands for " + operation.getSymbol());
+        }
+        this.operation = operation;
+        this.operands = operands.clone();
+    }
+
+    /**
+     * @return the operation applied by this node
+     */
+    public MathOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public List<ExpressionNode> getChildren() {
+        return List.of(operands);
+    }
+
+    @Override
+    public double evaluate(double x) {
+        double result;
+        if (operation.isVariadic()) {
+            result = evaluateVariadic(x);
+        } else {
+            result = switch (operands.length) {
+                case 0 -> Math.random();
+                case 1 -> operation.apply(operands[0].evaluate(x));
+                default -> operation.apply(operands[0].evaluate(x), operands[1].evaluate(x));
+            };
+        }
+        return operation.check(result);
+    }
+
+    /**
+     * Folds the arguments of a variadic function from left to right, exactly like {@code DoubleEvaluator}:
+     * {@code sum} and {@code avg} start from {@code 0.0}, and {@code avg} divides by the argument count.
+     *
+     * @param x the value of the variable
+     * @return the unchecked result of the function
+     */
+    private double evaluateVariadic(double x) {
+        if (operation == MathOperation.SUM || operation == MathOperation.AVG) {
+            double sum = 0.0;
+            for (ExpressionNode operand : operands) {
+                sum += operand.evaluate(x);
+            }
+            return operation == MathOperation.AVG ? sum / operands.length : sum;
+        }
+        double accumulator = operands[0].evaluate(x);
+        for (int i = 1; i < operands.length; i++) {
+            accumulator = operation.apply(accumulator, operands[i].evaluate(x));
+        }
+        return accumulator;
+    }
+
+    @Override
+    public String toString() {
+        if (operation.isFunction()) {
+            StringBuilder builder = new StringBuilder(operation.getSymbol()).append('(');
+            for (int i = 0; i < operands.length; i++) {
+                if (i > 0) builder.append(", ");
+                builder.append(operands[i]);
+            }
+            return builder.append(')').toString();
+        }
+        if (operands.length == 1) {
+            return operation.getSymbol() + "(" + operands[0] + ")";
+        }
+        return "(" + operands[0] + " " + operation.getSymbol() + " " + operands[1] + ")";
+    }
+}
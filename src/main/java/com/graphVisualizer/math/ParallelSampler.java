@@ -0,0 +1,207 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Samples compiled expressions over a range of {@code x} on several threads.
+ * <p>
+ * The range is split into chunks of {@code chunkSize} samples, which are evaluated by the tasks of a
+ * {@code ForkJoinPool}. Nothing is shared between the workers but the immutable compiled expression or plan:
+ * every worker samples into its own buffer, and {@code EvaluationPlan} keeps its slots per call. The buffer is
+ * then copied into its place in the result.
+ * <p>
+ * Chunk {@code c} starts at {@code x = begin + c * chunkSize * step} and accumulates {@code step} from there,
+ * so a parallel result can differ from a sequential one in the last bits of {@code x}.
+ * Ranges of at most one chunk, and samplers with a parallelism of 1, sample on the calling thread exactly like
+ * {@link CompiledExpression#sample(double, double, double[])}.
+ *
+ * @see Graph#setValuesFromExpression(String)
+ * @see Graph#setValuesFromExpressions(java.util.List, java.util.List)
+ */
+public final class ParallelSampler {
+
+    /**
+     * The sampler configured with the keys "sampling.chunkSize" and "sampling.parallelism".
+     * A parallelism of 0 uses one worker per available processor.
+     *
+     * @see ConfigLoader
+     */
+    private static final ParallelSampler DEFAULT = new ParallelSampler(
+            ConfigLoader.getInt("sampling.chunkSize"), ConfigLoader.getInt("sampling.parallelism"));
+
+    /**
+     * The number of samples evaluated by one task.
+     */
+    private final int chunkSize;
+
+    /**
+     * The pool running the chunks, or {@code null} when sampling is sequential.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The buffer of each worker, reused by all the full chunks it evaluates.
+     */
+    private final ThreadLocal<double[]> buffer;
+
+    /**
+     * Constructs a sampler.
+     *
+     * @param chunkSize   the number of samples evaluated by one task
+     * @param parallelism the number of workers, or 0 for one per available processor
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive or {@code parallelism} is negative
+     */
+    public ParallelSampler(int chunkSize, int parallelism) throws IllegalArgumentException {
+        if (chunkSize <= 0 || parallelism < 0) {
+            throw new IllegalArgumentException("Invalid sampling configuration: chunk size " + chunkSize
+                    + ", parallelism " + parallelism);
+        }
+        int workers = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.chunkSize = chunkSize;
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+        this.buffer = ThreadLocal.withInitial(() -> new double[chunkSize]);
+    }
+
+    /**
+     * @return the sampler configured in {@code config.properties}
+     */
+    public static ParallelSampler getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Evaluates the expression for {@code values.length} values of {@code x}, starting at {@code begin}
+     * and incremented by {@code step}.
+     *
+     * @param expression the compiled expression
+     * @param begin      the first value of {@code x}
+     * @param step       the increment of {@code x}
+     * @param values     the array to fill
+     * @throws IllegalArgumentException if a function received an invalid argument; the error of the first
+     *                                  failing chunk is thrown once all chunks are done
+     */
+    public void sample(CompiledExpression expression, double begin, double step, double[] values)
+            throws IllegalArgumentException {
+        sample(expression, begin, step, values, () -> false);
+    }
+
+    /**
+     * Evaluates the expression like {@link #sample(CompiledExpression, double, double, double[])}, but skips the
+     * chunks that have not started yet once {@code cancelled} returns true, leaving {@code values} partially filled.
+     *
+     * @param expression the compiled expression
+     * @param begin      the first value of {@code x}
+     * @param step       the increment of {@code x}
+     * @param values     the array to fill
+     * @param cancelled  checked before every chunk, from the worker threads
+     * @throws IllegalArgumentException if a function received an invalid argument; the error of the first
+     *                                  failing chunk is thrown once all chunks are done
+     */
+    public void sample(CompiledExpression expression, double begin, double step, double[] values,
+                       BooleanSupplier cancelled) throws IllegalArgumentException {
+        if (pool == null || values.length <= chunkSize) {
+            expression.sample(begin, step, values);
+            return;
+        }
+        int chunks = chunkCount(values.length);
+        IllegalArgumentException[] errors = new IllegalArgumentException[chunks];
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            if (cancelled.getAsBoolean()) return;
+            int from = chunk * chunkSize;
+            double[] samples = buffer(values.length - from);
+            try {
+                expression.sample(begin + from * step, step, samples);
+            } catch (IllegalArgumentException e) {
+                errors[chunk] = e;
+                return;
+            }
+            System.arraycopy(samples, 0, values, from, samples.length);
+        }));
+        for (IllegalArgumentException error : errors) {
+            if (error != null) throw error;
+        }
+    }
+
+    /**
+     * Evaluates every expression of the plan, as {@link EvaluationPlan#sample(double, double, double[][])} does.
+     * All arrays of {@code values} must have the same length.
+     *
+     * @param plan   the shared plan
+     * @param begin  the first value of {@code x}
+     * @param step   the increment of {@code x}
+     * @param values one array per expression, in the order of the plan
+     * @return one element per expression: the error of its first failing chunk, or {@code null}
+     */
+    public IllegalArgumentException[] sample(EvaluationPlan plan, double begin, double step, double[][] values) {
+        int length = values.length == 0 ? 0 : values[0].length;
+        if (pool == null || length <= chunkSize) {
+            return plan.sample(begin, step, values);
+        }
+        int chunks = chunkCount(length);
+        IllegalArgumentException[][] errors = new IllegalArgumentException[chunks][];
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * chunkSize;
+            int size = Math.min(chunkSize, length - from);
+            double[][] samples = new double[values.length][size];
+            errors[chunk] = plan.sample(begin + from * step, step, samples);
+            for (int k = 0; k < values.length; k++) {
+                System.arraycopy(samples[k], 0, values[k], from, size);
+            }
+        }));
+        IllegalArgumentException[] result = new IllegalArgumentException[values.length];
+        for (IllegalArgumentException[] chunkErrors : errors) {
+            for (int k = 0; k < result.length; k++) {
+                if (result[k] == null) result[k] = chunkErrors[k];
+            }
+        }
+        return result;
+    }
+
+    private int chunkCount(int length) {
+        return (length + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * Retrieves the worker's buffer for a full chunk, or a new array for the shorter last chunk.
+     */
+    private double[] buffer(int remaining) {
+        return remaining >= chunkSize ? buffer.get() : new double[remaining];
+    }
+
+    /**
+     * The work done for one chunk.
+     */
+    @FunctionalInterface
+    private interface Chunk {
+        void sample(int chunk);
+    }
+
+    /**
+     * Splits a range of chunks in halves until a single chunk is left.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final Chunk chunk;
+
+        ChunkTask(int from, int to, Chunk chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunk.sample(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, middle, chunk), new ChunkTask(middle, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.graphVisualizer.math;
+
+/**
+ * Reduces a polyline in screen coordinates to a number of vertices bounded by the width of the screen.
+ * <p>
+ * Every run of consecutive points in the same pixel column is replaced by its first and last points, and by the
+ * points with the smallest and the largest {@code y}, in their original order (M4 aggregation). The segments
+ * between these points span the same pixels of the column as the full run, and connect to the neighbouring
+ * columns at the same points, so the drawing is the same, up to the rounding of the ends of a span, with at most
+ * four vertices per column.
+ * <p>
+ * Column {@code k} holds the points with {@code x} in {@code [k - 0.5, k + 0.5)}, since Java2D draws a stroke
+ * through the pixel whose center is closest to the vertex.
+ * <p>
+ * A point whose {@code y} is not finite ends the run, and is kept, so that the breaks of the polyline are kept.
+ * <p>
+ * Columns wider than a pixel trade the exactness for fewer vertices: the drawing then keeps the extent of the
+ * curve in every column, but not its shape inside it.
+ *
+ * @see Graph#calculateGraphCurve(int, int)
+ */
+public final class PolylineDecimator {
+
+    private PolylineDecimator() {
+    }
+
+    /**
+     * Decimates a polyline.
+     *
+     * @param coordinates the points of the polyline, as consecutive {@code x, y} pairs, by increasing {@code x}
+     * @param count       the number of points to be read from {@code coordinates}
+     * @param decimated   the array the kept points are written to, as {@code x, y} pairs; it needs room for
+     *                    {@code count} points, and may not be {@code coordinates}
+     * @return the number of points written to {@code decimated}
+     */
+    public static int decimate(float[] coordinates, int count, float[] decimated) {
+        return decimate(coordinates, count, 1, decimated);
+    }
+
+    /**
+     * Decimates a polyline into columns of the given width.
+     *
+     * @param coordinates the points of the polyline, as consecutive {@code x, y} pairs, by increasing {@code x}
+     * @param count       the number of points to be read from {@code coordinates}
+     * @param columnWidth the width of a column, in pixels
+     * @param decimated   the array the kept points are written to, as {@code x, y} pairs; it needs room for
+     *                    {@code count} points, and may not be {@code coordinates}
+     * @return the number of points written to {@code decimated}
+     */
+    public static int decimate(float[] coordinates, int count, float columnWidth, float[] decimated) {
+        int written = 0;
+        int i = 0;
+        while (i < count) {
+            if (!Float.isFinite(coordinates[2 * i + 1])) {
+                written = copy(coordinates, i, decimated, written);
+                i++;
+                continue;
+            }
+
+            float column = column(coordinates[2 * i], columnWidth);
+            int min = i;
+            int max = i;
+            int last = i;
+            for (int j = i + 1; j < count; j++) {
+                float y = coordinates[2 * j + 1];
+                if (!Float.isFinite(y) || column(coordinates[2 * j], columnWidth) != column) break;
+                if (y < coordinates[2 * min + 1]) min = j;
+                if (y > coordinates[2 * max + 1]) max = j;
+                last = j;
+            }
+
+            // The first point is always kept; the others only if they were not kept already
+            int lower = Math.min(min, max);
+            int upper = Math.max(min, max);
+            written = copy(coordinates, i, decimated, written);
+            if (lower > i) written = copy(coordinates, lower, decimated, written);
+            if (upper > lower && upper > i) written = copy(coordinates, upper, decimated, written);
+            if (last > upper && last > i) written = copy(coordinates, last, decimated, written);
+            i = last + 1;
+        }
+        return written;
+    }
+
+    private static float column(float x, float columnWidth) {
+        return (float) Math.floor((x + 0.5f) / columnWidth);
+    }
+
+    private static int copy(float[] coordinates, int point, float[] decimated, int written) {
+        decimated[2 * written] = coordinates[2 * point];
+        decimated[2 * written + 1] = coordinates[2 * point + 1];
+        return written + 1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.graphVisualizer.math;
+
+/**
+ * The part of the x axis a {@code SamplingStrategy} samples, and how it is going to be drawn.
+ *
+ * @param begin the first value of {@code x}
+ * @param step  the distance between two consecutive samples of a fixed-step sampling
+ * @param count the number of samples of a fixed-step sampling; the range ends at {@code begin + (count - 1) * step}
+ * @param scale the number of pixels per unit, on both axes, used to measure errors on the screen
+ * @see SamplingStrategy
+ */
+public record SamplingRange(double begin, double step, int count, double scale) {
+
+    /**
+     * @return the last value of {@code x}
+     */
+    public double end() {
+        return begin + (count - 1) * step;
+    }
+
+    /**
+     * Retrieves the same range, sampled {@code stride} times less densely.
+     *
+     * @param stride the factor applied to the step
+     * @return a range with the same beginning and at most the same end
+     */
+    public SamplingRange coarser(int stride) {
+        return new SamplingRange(begin, step * stride, (count - 1) / stride + 1, scale);
+    }
+}
@@ -0,0 +1,45 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decides at which values of {@code x} an expression is evaluated to draw its curve.
+ *
+ * @see FixedStepSampling
+ * @see AdaptiveSampling
+ * @see Graph
+ */
+public interface SamplingStrategy {
+
+    /**
+     * Samples the expression over the range.
+     *
+     * @param expression the compiled expression
+     * @param range      the range to be sampled
+     * @param cancelled  checked while sampling; once it returns true, the rest of the range may be skipped
+     * @return the samples, which are incomplete if {@code cancelled} returned true
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    CurveSamples sample(CompiledExpression expression, SamplingRange range, BooleanSupplier cancelled)
+            throws IllegalArgumentException;
+
+    /**
+     * Creates the strategy configured with the key "sampling.strategy": {@code fixed} or {@code adaptive}.
+     *
+     * @return the configured strategy
+     * @throws IllegalArgumentException if the configured strategy is unknown
+     * @see ConfigLoader
+     */
+    static SamplingStrategy fromConfig() throws IllegalArgumentException {
+        return switch (ConfigLoader.get("sampling.strategy").toLowerCase(Locale.ROOT)) {
+            case "fixed" -> new FixedStepSampling(ParallelSampler.getDefault());
+            case "adaptive" -> new AdaptiveSampling(ConfigLoader.getDouble("sampling.adaptive.tolerance"),
+                    ConfigLoader.getDouble("sampling.adaptive.initialSpacing"),
+                    ConfigLoader.getInt("sampling.adaptive.maxPoints"));
+            default -> throw new IllegalArgumentException("Unknown sampling strategy: " + ConfigLoader.get("sampling.strategy"));
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.graphVisualizer.math;
+
+import java.util.List;
+
+/**
+ * The variable {@code x} of an expression tree.
+ *
+ * @see ExpressionNode
+ */
+public final class VariableNode extends ExpressionNode {
+
+    /**
+     * The only instance: expressions have a single variable.
+     */
+    public static final VariableNode X = new VariableNode();
+
+    /**
+     * The name of the variable, as written in an expression.
+     */
+    public static final String NAME = "x";
+
+    private VariableNode() {
+    }
+
+    @Override
+    public double evaluate(double x) {
+        return x;
+    }
+
+    @Override
+    public List<ExpressionNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return NAME;
+    }
+}
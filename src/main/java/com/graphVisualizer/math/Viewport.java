@@ -0,0 +1,102 @@
+package com.graphVisualizer.math;
+
+import com.graphVisualizer.utils.ConfigLoader;
+
+/**
+ * The part of the plane shown on the screen, and how it is mapped to pixels.
+ * <p>
+ * A point {@code (x, y)} is drawn at {@code (originX + x * scale, originY - y * scale)}, so {@code originX} and
+ * {@code originY} are the pixel coordinates of the origin, which do not need to be on the screen.
+ *
+ * @param originX the horizontal pixel coordinate of the origin
+ * @param originY the vertical pixel coordinate of the origin
+ * @param scale   the number of pixels per unit, on both axes
+ * @param width   the width of the screen, in pixels
+ * @param height  the height of the screen, in pixels
+ * @see Graph#setViewport(Viewport)
+ */
+public record Viewport(double originX, double originY, double scale, int width, int height) {
+
+    /**
+     * Creates the viewport of a {@code DrawingPane} of the configured size, with the origin in its center.
+     * The size is loaded from the keys "dim.dp.width" and "dim.dp.height", the scale from "g.scale".
+     *
+     * @return the initial viewport
+     * @see ConfigLoader
+     */
+    public static Viewport fromConfig() {
+        int width = ConfigLoader.getInt("dim.dp.width");
+        int height = ConfigLoader.getInt("dim.dp.height");
+        return new Viewport(width / 2, height / 2, ConfigLoader.getDouble("g.scale"), width, height);
+    }
+
+    /**
+     * @param x the horizontal coordinate of a point
+     * @return the horizontal pixel coordinate of the point
+     */
+    public double toScreenX(double x) {
+        return originX + x * scale;
+    }
+
+    /**
+     * @param y the vertical coordinate of a point
+     * @return the vertical pixel coordinate of the point
+     */
+    public double toScreenY(double y) {
+        return originY - y * scale;
+    }
+
+    /**
+     * @param screenX a horizontal pixel coordinate
+     * @return the horizontal coordinate of the points drawn at {@code screenX}
+     */
+    public double toWorldX(double screenX) {
+        return (screenX - originX) / scale;
+    }
+
+    /**
+     * Computes the range of {@code x} to be sampled so that the visible part of the curve is drawn with
+     * {@code samplesPerPixel} samples per pixel column, plus {@code margin} pixels on both sides.
+     * The number of samples therefore depends on the width of the screen only.
+     * <p>
+     * The range starts at a multiple of the step, so that the ranges of two viewports with the same scale share
+     * their samples where they overlap.
+     *
+     * @param samplesPerPixel the number of fixed-step samples per pixel column
+     * @param margin          the number of pixels sampled beyond each side of the screen
+     * @param minX            the smallest {@code x} that may be sampled
+     * @param maxX            the largest {@code x} that may be sampled
+     * @return the range to be sampled, at least one sample long
+     */
+    public SamplingRange samplingRange(double samplesPerPixel, int margin, double minX, double maxX) {
+        double step = 1 / (scale * samplesPerPixel);
+        double begin = Math.max(minX, Math.floor(toWorldX(-margin) / step) * step);
+        double end = Math.min(maxX, toWorldX(width + margin));
+        int count = end > begin ? (int) Math.floor((end - begin) / step) + 1 : 1;
+        return new SamplingRange(begin, step, count, scale);
+    }
+
+    /**
+     * Moves the plane on the screen.
+     *
+     * @param dx the horizontal distance, in pixels
+     * @param dy the vertical distance, in pixels
+     * @return the moved viewport
+     */
+    public Viewport translated(double dx, double dy) {
+        return new Viewport(originX + dx, originY + dy, scale, width, height);
+    }
+
+    /**
+     * Zooms around a pixel, which keeps showing the same point of the plane.
+     *
+     * @param factor  the factor applied to the scale; more than 1 zooms in
+     * @param screenX the horizontal pixel coordinate of the fixed point
+     * @param screenY the vertical pixel coordinate of the fixed point
+     * @return the zoomed viewport
+     */
+    public Viewport zoomed(double factor, double screenX, double screenY) {
+        return new Viewport(screenX + (originX - screenX) * factor, screenY + (originY - screenY) * factor,
+                scale * factor, width, height);
+    }
+}
@@ -36,14 +36,28 @@ public class GraphSerializer {
      * @return a list of strings, each representing a line of graph data read from the file
      */
     public static List<String> readGraphsFromFile() {
-        File inputFile = new File(FILE_PATH);
+        try {
+            return readGraphs(new File(FILE_PATH));
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads {@code Graph} data from the given file, in the format written by {@link #writeGraphsToFile(List)}:
+     * one expression per line.
+     *
+     * @param inputFile the file to be read
+     * @return a list of strings, each representing a line of graph data read from the file
+     * @throws IOException if the file cannot be read
+     */
+    public static List<String> readGraphs(File inputFile) throws IOException {
         List<String> inputs = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(inputFile))) {
             String line;
             while ((line = reader.readLine()) != null)
                 inputs.add(line);
-        } catch (IOException e) {
-            System.err.println("Error writing to file: " + e.getMessage());
         }
         return inputs;
     }
@@ -0,0 +1,104 @@
+package com.graphVisualizer.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations, in nanoseconds, in buckets of bounded relative width, in the manner of an HDR histogram.
+ * <p>
+ * Durations below {@value #SUB_BUCKETS} nanoseconds have a bucket each. Above, every power of two is split into
+ * {@value #SUB_BUCKETS}{@code  / 2} buckets of equal width, so a bucket is at most 1/16 of its values wide,
+ * whatever their magnitude. The percentiles are therefore within about 6% of the recorded durations, for a
+ * fixed array of counts.
+ * <p>
+ * Recording is lock-free and does not allocate, so it can be done on every paint or evaluation, from any
+ * thread. Reading while recording sees every count, but not necessarily from the same instant.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of buckets of the first power of two; a power of two above it has half as many.
+     */
+    private static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The counts of each bucket, for durations up to {@code Long.MAX_VALUE}.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(index(Long.MAX_VALUE) + 1);
+
+    /**
+     * Counts one duration.
+     *
+     * @param nanos the duration, in nanoseconds; negative durations are counted as 0
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(index(Math.max(0, nanos)));
+    }
+
+    /**
+     * @return the number of durations counted
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Computes the duration below which a given percentage of the durations are.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the largest duration of the bucket holding the percentile, or 0 if nothing was counted
+     */
+    public long percentile(double percentile) {
+        long count = count();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return highestValue(i);
+        }
+        return highestValue(counts.length() - 1);
+    }
+
+    /**
+     * @return the largest duration of the highest bucket counted, or 0 if nothing was counted
+     */
+    public long max() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) return highestValue(i);
+        }
+        return 0;
+    }
+
+    /**
+     * Forgets every duration counted.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * Finds the bucket of a duration: the power of two it is in, and then its sub-bucket.
+     */
+    private static int index(long value) {
+        int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1));
+        int subBucket = (int) (value >>> bucket);
+        return bucket * (SUB_BUCKETS / 2) + subBucket;
+    }
+
+    /**
+     * @return the largest duration counted by the bucket
+     */
+    private static long highestValue(int index) {
+        int bucket = Math.max(0, index / (SUB_BUCKETS / 2) - 1);
+        long subBucket = index - bucket * (SUB_BUCKETS / 2);
+        long highest = ((subBucket + 1) << bucket) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+}
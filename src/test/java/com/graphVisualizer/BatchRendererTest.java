@@ -0,0 +1,92 @@
+package com.graphVisualizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRendererTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRendersFilesToImages() throws IOException {
+        File first = Files.writeString(directory.resolve("first.txt"), "sin(x)\nx^2 - 3\n").toFile();
+        File second = Files.writeString(directory.resolve("second.txt"), "1/x\n").toFile();
+        BatchRenderer renderer = new BatchRenderer(640, 480, -5, 5, directory.toFile());
+
+        assertEquals(0, renderer.renderAll(List.of(first, second), 2), "Every file should be rendered.");
+        for (String name : List.of("first.png", "second.png")) {
+            BufferedImage image = ImageIO.read(directory.resolve(name).toFile());
+            assertNotNull(image, name + " should be a PNG image.");
+            assertEquals(640, image.getWidth());
+            assertEquals(480, image.getHeight());
+        }
+    }
+
+    @Test
+    void testRangeIsDrawnAcrossTheImage() {
+        BatchRenderer renderer = new BatchRenderer(400, 200, 0, 10, directory.toFile());
+        BufferedImage image = renderer.render(List.of("0"));
+        // The curve y = 0 is drawn over the horizontal axis, from the left edge of the image
+        assertNotEquals(image.getRGB(5, 20), image.getRGB(5, 100), "The curve should start at the left edge.");
+        assertEquals(image.getRGB(5, 100), image.getRGB(395, 100), "The curve should reach the right edge.");
+    }
+
+    @Test
+    void testRangeWiderThanTheConfiguredDomain() {
+        // The configured domain is -100 to 100, which would only cover the middle fifth of the image
+        BatchRenderer renderer = new BatchRenderer(500, 200, -500, 500, directory.toFile());
+        BufferedImage image = renderer.render(List.of("100"));
+        // y = 100 is drawn 50 pixels above the axis, at half a pixel per unit
+        assertNotEquals(image.getRGB(5, 20), image.getRGB(5, 50), "The curve should start at the left edge.");
+        assertEquals(image.getRGB(5, 50), image.getRGB(495, 50), "The curve should reach the right edge.");
+    }
+
+    @Test
+    void testFailingFileDoesNotStopTheOthers() throws IOException {
+        File invalid = Files.writeString(directory.resolve("invalid.txt"), "sin(\n").toFile();
+        File valid = Files.writeString(directory.resolve("valid.txt"), "x\n").toFile();
+        File missing = directory.resolve("missing.txt").toFile();
+        BatchRenderer renderer = new BatchRenderer(100, 100, -1, 1, directory.toFile());
+
+        assertEquals(2, renderer.renderAll(List.of(invalid, valid, missing), 2), "Two files should fail.");
+        assertTrue(Files.exists(directory.resolve("valid.png")), "The valid file should be rendered.");
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertEquals(2, BatchRenderer.run(new String[]{}), "Nothing to render is a usage error.");
+        assertEquals(2, BatchRenderer.run(new String[]{"--size", "big", "a.txt"}), "The size should be parsed.");
+        assertThrows(IllegalArgumentException.class, () -> new BatchRenderer(100, 100, 1, 1, directory.toFile()));
+    }
+
+    @Test
+    void testNegativeThreadsAreReported() {
+        PrintStream stderr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            assertEquals(2, BatchRenderer.run(new String[]{"--threads", "-1", "a.txt"}),
+                    "A negative number of threads is a usage error.");
+        } finally {
+            System.setErr(stderr);
+        }
+        String message = err.toString(StandardCharsets.UTF_8);
+        assertTrue(message.contains("Invalid number of threads: -1"), "The invalid value should be reported.");
+        assertFalse(message.contains("No files to render"), "The files were given.");
+        assertTrue(message.contains("Usage:"), "The usage should follow the error.");
+    }
+}
@@ -1,19 +1,40 @@
 package com.graphVisualizer.customComponents;
 
+import com.graphVisualizer.math.CurveSamples;
 import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 class DrawingPaneTest {
 
+    /**
+     * The bytes a paint may allocate beyond the images it draws, for the rounding of the measures.
+     */
+    private static final long PAINT_ALLOCATION = 8;
+
     private DrawingPane drawingPane;
     private Graph mockGraph;
 
@@ -24,6 +45,7 @@ class DrawingPaneTest {
 
         // Mock Graph class
         mockGraph = mock(Graph.class);
+        when(mockGraph.getCurveBounds()).thenReturn(new Rectangle(0, 0, -1, -1));
     }
 
     @Test
@@ -42,6 +64,16 @@ class DrawingPaneTest {
         assertTrue(graphList.contains(mockGraph), "Graph list should contain the added graph.");
     }
 
+    @Test
+    void testUpdateRemovedGraph() {
+        drawingPane.addGraph(mockGraph);
+        drawingPane.updateGraph(mockGraph);
+        drawingPane.removeGraph(mockGraph);
+        clearInvocations(mockGraph);
+        assertDoesNotThrow(() -> drawingPane.updateGraph(mockGraph), "A removed graph should be ignored.");
+        verify(mockGraph, never()).calculateGraphCurve(anyInt(), anyInt());
+    }
+
     @Test
     void testRemoveGraph() {
         drawingPane.addGraph(mockGraph);
@@ -63,4 +95,248 @@ class DrawingPaneTest {
         assertEquals(2, gridLines.size(), "Grid lines should contain 2 lines.");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testDragPans() {
+        drawingPane.addGraph(mockGraph);
+        drawingPane.dispatchEvent(new MouseEvent(drawingPane, MouseEvent.MOUSE_PRESSED, 0, 0, 100, 100, 1, false));
+        drawingPane.dispatchEvent(new MouseEvent(drawingPane, MouseEvent.MOUSE_DRAGGED, 0, 0, 130, 90, 1, false));
+
+        assertEquals(230, drawingPane.getViewport().originX(), "The origin should follow the mouse.");
+        assertEquals(190, drawingPane.getViewport().originY(), "The origin should follow the mouse.");
+        assertEquals(230, drawingPane.getGridLines().get(0).getX1(), "The axes should follow the origin.");
+        verify(mockGraph).setViewport(drawingPane.getViewport());
+    }
+
+    @Test
+    void testWheelZoomsAroundCursor() {
+        Viewport before = drawingPane.getViewport();
+        drawingPane.dispatchEvent(new MouseWheelEvent(drawingPane, MouseEvent.MOUSE_WHEEL, 0, 0, 300, 100, 0, false,
+                MouseWheelEvent.WHEEL_UNIT_SCROLL, 1, -1));
+
+        Viewport after = drawingPane.getViewport();
+        assertTrue(after.scale() > before.scale(), "Scrolling up should zoom in.");
+        assertEquals(before.toWorldX(300), after.toWorldX(300), 1e-9, "The point under the cursor should stay.");
+    }
+
+    @Test
+    void testCurveImageIsTransformedDuringGesture() {
+        assertTrue(drawingPane.curveTransform().isIdentity(), "Curves should be drawn as they are at rest.");
+        drawingPane.setViewport(drawingPane.getViewport().zoomed(2, 100, 100).translated(5, 0));
+
+        AffineTransform transform = drawingPane.curveTransform();
+        Viewport viewport = drawingPane.getViewport();
+        Point2D drawn = transform.transform(new Point2D.Double(200 + 3 * 20, 200 - 1 * 20), null);
+        assertEquals(viewport.toScreenX(3), drawn.getX(), 1e-9, "The image should follow the viewport.");
+        assertEquals(viewport.toScreenY(1), drawn.getY(), 1e-9, "The image should follow the viewport.");
+    }
+
+    @Test
+    void testGraphsOfTheSameRangeAreResampledTogether() throws Exception {
+        List<Graph> graphs = List.of(spy(new Graph()), spy(new Graph()), spy(new Graph()));
+        List<String> expressions = List.of("sin(x)", "sin(x) + 1", "2*sin(x)");
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < graphs.size(); i++) {
+                graphs.get(i).setValuesFromExpression(expressions.get(i));
+                drawingPane.addGraph(graphs.get(i));
+                drawingPane.updateGraph(graphs.get(i));
+            }
+            drawingPane.setViewport(drawingPane.getViewport().translated(150, 0));
+        });
+
+        long deadline = System.currentTimeMillis() + 5000;
+        boolean[] sampled = new boolean[1];
+        while (!sampled[0] && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            SwingUtilities.invokeAndWait(() -> sampled[0] = graphs.stream()
+                    .allMatch(graph -> graph.isSampledFor(graph.getSamplingRange())));
+        }
+        assertTrue(sampled[0], "Every graph should be resampled for the new viewport.");
+
+        for (Graph graph : graphs) {
+            verify(graph, never()).resample(any(), any(), any());
+        }
+        double[] offsets = {0, 1, 0};
+        double[] factors = {1, 1, 2};
+        for (int i = 0; i < graphs.size(); i++) {
+            CurveSamples samples = graphs.get(i).getSamples();
+            for (int k = 0; k < samples.size(); k += 37) {
+                assertEquals(factors[i] * Math.sin(samples.x()[k]) + offsets[i], samples.y()[k], 1e-12,
+                        "The shared plan should evaluate " + expressions.get(i) + ".");
+            }
+        }
+    }
+
+    @Test
+    void testPaintDoesNotAllocateInSteadyState() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation counting is not supported.");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("sin(x)");
+        drawingPane.addGraph(graph);
+        drawingPane.updateGraph(graph);
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        drawingPane.paintComponent(g2);
+        BufferedImage grid = drawingPane.getGridImage();
+        BufferedImage layer = drawingPane.getLayer(graph);
+        AffineTransform transform = drawingPane.curveTransform();
+
+        // Java2D may allocate for every image drawn, which the pane cannot avoid
+        long blits = allocatedPerCall(threads, () -> {
+            g2.drawImage(grid, 0, 0, null);
+            g2.drawImage(layer, transform, null);
+        });
+        long perPaint = allocatedPerCall(threads, () -> drawingPane.paintComponent(g2));
+        g2.dispose();
+        assertTrue(perPaint - blits <= PAINT_ALLOCATION, "Painting unchanged curves should not allocate, but "
+                + "allocated " + perPaint + " bytes per paint, for " + blits + " bytes drawing the images.");
+    }
+
+    /**
+     * Measures the bytes allocated by a call, once it is compiled: the fewest bytes of rounds of calls, since the
+     * code the call depends on may still be compiled during the first rounds.
+     */
+    private static long allocatedPerCall(com.sun.management.ThreadMXBean threads, Runnable call) {
+        int calls = 1000;
+        long fewest = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < calls; i++) {
+                call.run();
+            }
+            fewest = Math.min(fewest, (threads.getCurrentThreadAllocatedBytes() - before) / calls);
+        }
+        return fewest;
+    }
+
+    @Test
+    void testOnlyChangedLayersAreRendered() {
+        Graph first = spy(new Graph());
+        Graph second = spy(new Graph());
+        first.setValuesFromExpression("sin(x)");
+        second.setValuesFromExpression("x^2");
+        drawingPane.addGraph(first);
+        drawingPane.addGraph(second);
+        drawingPane.updateGraph(first);
+        drawingPane.updateGraph(second);
+        Graphics2D g2 = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        drawingPane.paintComponent(g2);
+        BufferedImage layer = drawingPane.getLayer(first);
+        clearInvocations(first, second);
+
+        second.setValuesFromExpression("x^3");
+        drawingPane.updateGraph(second);
+        drawingPane.paintComponent(g2);
+        verify(first, never()).getPath();
+        verify(second).getPath();
+
+        first.setVisible(false);
+        drawingPane.updateGraph(first);
+        drawingPane.paintComponent(g2);
+        first.setVisible(true);
+        drawingPane.updateGraph(first);
+        drawingPane.paintComponent(g2);
+        verify(first, never()).calculateGraphCurve(anyInt(), anyInt());
+        verify(first, never()).getPath();
+        assertSame(layer, drawingPane.getLayer(first), "Toggling visibility should reuse the layer.");
+        g2.dispose();
+    }
+
+    @Test
+    void testUpdateRepaintsOnlyTheChangedCurve() {
+        DrawingPane pane = spy(new DrawingPane());
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("sin(x)");
+        pane.addGraph(graph);
+        pane.updateGraph(graph);
+        Rectangle before = graph.getCurveBounds();
+        clearInvocations(pane);
+
+        graph.setValuesFromExpression("sin(x) + 2");
+        pane.updateGraph(graph);
+        ArgumentCaptor<Rectangle> dirty = ArgumentCaptor.forClass(Rectangle.class);
+        verify(pane).repaint(dirty.capture());
+        verify(pane, never()).repaint();
+
+        assertTrue(dirty.getValue().contains(before), "The old curve should be repainted.");
+        assertTrue(dirty.getValue().contains(graph.getCurveBounds()), "The new curve should be repainted.");
+        assertTrue(dirty.getValue().height < 400, "The rest of the pane should not be repainted.");
+    }
+
+    @Test
+    void testRenderingProfileSwitchesHintsAndDetail() {
+        Graph graph = spy(new Graph());
+        graph.setValuesFromExpression("sin(x)");
+        drawingPane.addGraph(graph);
+        drawingPane.updateGraph(graph);
+        Graphics2D g2 = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        drawingPane.paintComponent(g2);
+        assertEquals(RenderingHints.VALUE_ANTIALIAS_ON, g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                "The quality profile should antialias.");
+        clearInvocations(graph);
+
+        drawingPane.setRenderingProfile(RenderingProfile.FAST);
+        drawingPane.paintComponent(g2);
+        assertEquals(RenderingHints.VALUE_ANTIALIAS_OFF, g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                "The fast profile should not antialias.");
+        verify(graph).setColumnWidth(RenderingProfile.FAST.getColumnWidth());
+        verify(graph).calculateGraphCurve(anyInt(), anyInt());
+        verify(graph).getPath();
+        g2.dispose();
+    }
+
+    @Test
+    void testDiagnosticsOverlay() {
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("sin(x)");
+        drawingPane.addGraph(graph);
+        drawingPane.updateGraph(graph);
+        Graphics2D g2 = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        long paints = drawingPane.getDiagnostics().getPaintLatency().count();
+        drawingPane.paintComponent(g2);
+        assertEquals(paints + 1, drawingPane.getDiagnostics().getPaintLatency().count(),
+                "Every paint should be timed.");
+        assertTrue(drawingPane.getDiagnostics().getBounds().isEmpty(), "The overlay should be hidden by default.");
+
+        drawingPane.setDiagnosticsVisible(true);
+        drawingPane.paintComponent(g2);
+        assertEquals(1, drawingPane.getDiagnostics().getPaintLatency().count(),
+                "Showing the overlay should measure the paints from then on.");
+        assertFalse(drawingPane.getDiagnostics().getBounds().isEmpty(), "The overlay should be drawn.");
+        List<String> lines = drawingPane.getDiagnostics().lines(drawingPane.getGraphList());
+        assertTrue(lines.get(0).startsWith("paint p50"));
+        assertTrue(lines.get(2).startsWith("f1: " + graph.getSamples().size() + " samples"),
+                "Every graph should have its line, but it was: " + lines.get(2));
+        assertTrue(lines.get(2).endsWith(graph.getSegmentCount() + " segments"));
+        g2.dispose();
+    }
+
+    @Test
+    void testPaintIsRecorded() throws IOException {
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("sin(x)");
+        drawingPane.addGraph(graph);
+        drawingPane.updateGraph(graph);
+        Graphics2D g2 = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("paint", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.graphVisualizer.Paint");
+            recording.start();
+            drawingPane.paintComponent(g2);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+            g2.dispose();
+        }
+
+        assertEquals(1, events.size(), "Every paint should be recorded.");
+        assertEquals(1, events.get(0).getInt("graphs"), "The visible graphs should be counted.");
+        assertEquals(graph.getSegmentCount(), events.get(0).getInt("segments"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.graphVisualizer.customComponents;
 
+import com.graphVisualizer.math.CurveSamples;
 import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.utils.ConfigLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.swing.*;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -88,4 +92,39 @@ class FunctionInputsPanelTest {
             assertTrue(panel.isAddNewButtonVisible(), "Add new button should be visible after all inputs are deleted.");
         });
     }
+
+    @Test
+    void testDeleteInputWhileEvaluating() throws Exception {
+        DrawingPane drawingPane = new DrawingPane();
+        FunctionInputsPanel[] inputsPanel = new FunctionInputsPanel[1];
+        Graph[] graphs = new Graph[2];
+        CurveSamples[] samples = new CurveSamples[2];
+        SwingUtilities.invokeAndWait(() -> {
+            inputsPanel[0] = new FunctionInputsPanel(drawingPane);
+            inputsPanel[0].setMultipleInputs(List.of("x", "x"));
+            // The first input loses its focus to its delete button, which starts the evaluation of the new text
+            FunctionTextInputComponent first = (FunctionTextInputComponent) inputsPanel[0].getComponent(0);
+            ((JTextField) first.getComponent(0)).setText("x^2");
+            FocusEvent focusEvent = new FocusEvent(first.getComponent(0), FocusEvent.FOCUS_LOST);
+            for (FocusListener focusListener : first.getComponent(0).getFocusListeners()) {
+                focusListener.focusLost(focusEvent);
+            }
+            // The second input is deleted while the evaluation of the text typed is pending
+            FunctionTextInputComponent second = (FunctionTextInputComponent) inputsPanel[0].getComponent(1);
+            ((JTextField) second.getComponent(0)).setText("x^3");
+            for (int i = 0; i < 2; i++) {
+                FunctionTextInputComponent input = i == 0 ? first : second;
+                graphs[i] = input.getGraph();
+                samples[i] = graphs[i].getSamples();
+                inputsPanel[0].deleteInput(input);
+            }
+        });
+
+        Thread.sleep(ConfigLoader.getInt("live.debounceMs") + 500L);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertTrue(drawingPane.getGraphList().isEmpty(), "Both graphs should be removed.");
+        for (int i = 0; i < 2; i++) {
+            assertSame(samples[i], graphs[i].getSamples(), "A deleted input should not evaluate its expression.");
+        }
+    }
 }
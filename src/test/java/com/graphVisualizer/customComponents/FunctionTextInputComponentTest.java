@@ -108,6 +108,74 @@ class FunctionTextInputComponentTest {
         Mockito.verify(mockPanel, Mockito.times(1)).updateInput(component);
     }
 
+    @Test
+    void testFocusLostEvaluatesInBackground() {
+        component.setExpression("x^2");
+        loseFocus();
+
+        Mockito.verify(mockPanel, Mockito.timeout(5000)).updateInput(component);
+        assertEquals("x^2", component.getGraph().getExpression());
+        double x = component.getGraph().getSamples().x()[0];
+        assertEquals(x * x, component.getGraph().getSamples().y()[0], 1e-9, "Values should be published once sampled.");
+        assertEquals(Color.WHITE, component.getComponent(0).getBackground(), "Background should be white for valid input.");
+    }
+
+    @Test
+    void testNewerEditCancelsPreviousEvaluation() throws Exception {
+        component.setExpression("x");
+        loseFocus();
+        component.setExpression("2*x");
+        loseFocus();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        double x = component.getGraph().getSamplingRange().begin();
+        while (component.getGraph().getSamples().y()[0] != 2 * x && System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals("2*x", component.getGraph().getExpression(), "Only the latest expression should be published.");
+        assertEquals(2 * x, component.getGraph().getSamples().y()[0], "The outdated evaluation should not be published last.");
+    }
+
+    @Test
+    void testEvaluationErrorFromBackground() {
+        component.setExpression("asin(x)");
+        loseFocus();
+
+        Mockito.verify(mockPanel, Mockito.timeout(5000)).updateInput(component);
+        assertEquals(ConfigLoader.getColor("color.inputError"), component.getComponent(0).getBackground(),
+                "The background color should be the error color when the evaluation fails.");
+    }
+
+    @Test
+    void testLivePlottingWhileTyping() throws Exception {
+        JTextField textField = (JTextField) getChildComponentByName(component, JTextField.class);
+        assertNotNull(textField, "Text field should be present.");
+        SwingUtilities.invokeAndWait(() -> {
+            textField.setText("x");
+            textField.setText("x^");
+            textField.setText("x^3");
+        });
+
+        Mockito.verify(mockPanel, Mockito.timeout(5000).atLeastOnce()).updateInput(component);
+        long deadline = System.currentTimeMillis() + 5000;
+        double x = component.getGraph().getSamplingRange().begin() + component.getGraph().getSamplingRange().step();
+        while (component.getGraph().getSamples().y()[1] != Math.pow(x, 3) && System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+        assertEquals("x^3", component.getGraph().getExpression(), "Only the last keystroke should be plotted.");
+        assertEquals(Math.pow(x, 3), component.getGraph().getSamples().y()[1], 1e-6,
+                "The preview should be refined to full resolution.");
+    }
+
+    // Helper method to notify the text field's focus listeners that it lost focus
+    private void loseFocus() {
+        FocusEvent focusEvent = new FocusEvent(component.getComponent(0), FocusEvent.FOCUS_LOST);
+        for (FocusListener focusListener : component.getComponent(0).getFocusListeners()) {
+            focusListener.focusLost(focusEvent);
+        }
+    }
+
     // Helper method to dispatch a mouse event to a component
     private void dispatchMouseEvent(Component component, int eventType) {
         MouseEvent event = new MouseEvent(component, eventType, System.currentTimeMillis(), 0, 0, 0, 1, false);
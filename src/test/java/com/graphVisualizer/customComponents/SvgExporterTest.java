@@ -0,0 +1,73 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SvgExporterTest {
+
+    private static final Pattern CURVE = Pattern.compile("<path fill=\"none\" stroke=\"(#[0-9a-f]{6})\" "
+            + "stroke-linejoin=\"round\" d=\"([^\"]*)\"/>");
+
+    private static Graph graph(String expression, Color color, Viewport viewport) {
+        Graph graph = new Graph();
+        graph.setViewport(viewport);
+        graph.setColor(color);
+        graph.setValuesFromExpression(expression);
+        graph.calculateGraphCurve((int) Math.round(viewport.originX()), (int) Math.round(viewport.originY()));
+        return graph;
+    }
+
+    @Test
+    void testCurvesAreSinglePaths() throws IOException {
+        Viewport viewport = new Viewport(200, 200, 20, 400, 400);
+        Graph sine = graph("sin(x)", Color.RED, viewport);
+        Graph hidden = graph("x", Color.GREEN, viewport);
+        hidden.setVisible(false);
+        Graph inverse = graph("1/x", Color.BLUE, viewport);
+        StringWriter out = new StringWriter();
+        new SvgExporter().write(out, viewport, List.of(sine, hidden, inverse), new AffineTransform());
+
+        String svg = out.toString();
+        assertTrue(svg.startsWith("<svg ") && svg.endsWith("</svg>\n"), "The document should be complete.");
+        assertFalse(svg.contains("<line"), "The curves should not be written segment by segment.");
+        Matcher curves = CURVE.matcher(svg);
+        assertTrue(curves.find());
+        assertEquals("#ff0000", curves.group(1));
+        assertTrue(curves.find());
+        assertEquals("#0000ff", curves.group(1), "Hidden curves should not be written.");
+        assertEquals(2, curves.group(2).split("M").length - 1, "1/x should be broken at its asymptote.");
+        assertFalse(curves.find());
+    }
+
+    @Test
+    void testPointsAreThoseOfThePath() throws IOException {
+        Viewport viewport = new Viewport(200, 200, 20, 400, 400);
+        Graph sine = graph("sin(x)", Color.RED, viewport);
+        StringWriter out = new StringWriter();
+        new SvgExporter().write(out, viewport, List.of(sine), AffineTransform.getTranslateInstance(10, -5));
+
+        Matcher curve = CURVE.matcher(out.toString());
+        assertTrue(curve.find());
+        String[] numbers = curve.group(2).split("[ML ]+");
+        float[] point = new float[6];
+        sine.getPath().getPathIterator(null).currentSegment(point);
+        assertEquals(point[0] + 10, Double.parseDouble(numbers[1]), 0.005, "The transformation should be applied.");
+        assertEquals(point[1] - 5, Double.parseDouble(numbers[2]), 0.005, "The transformation should be applied.");
+
+        int vertices = 0;
+        for (var it = sine.getPath().getPathIterator(null); !it.isDone(); it.next()) vertices++;
+        assertEquals(2 * vertices, numbers.length - 1, "Every vertex of the decimated path should be written once.");
+        assertTrue(vertices <= 4 * 400, "The path should be decimated to the width of the screen.");
+    }
+}
@@ -0,0 +1,75 @@
+package com.graphVisualizer.customComponents;
+
+import com.graphVisualizer.math.Graph;
+import com.graphVisualizer.math.Viewport;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledRasterizerTest {
+
+    private static Graph graph(String expression, Color color, Viewport viewport) {
+        Graph graph = new Graph();
+        graph.setViewport(viewport);
+        graph.setColor(color);
+        graph.setValuesFromExpression(expression);
+        graph.calculateGraphCurve((int) Math.round(viewport.originX()), (int) Math.round(viewport.originY()));
+        return graph;
+    }
+
+    @Test
+    void testTilesMatchSingleImage() {
+        Viewport viewport = new Viewport(500, 350, 40, 1000, 700);
+        List<Graph> graphs = List.of(graph("sin(x) * 5", Color.RED, viewport),
+                graph("1/x", Color.BLUE, viewport), graph("x^2 / 3 - 4", Color.BLACK, viewport));
+
+        for (RenderingProfile profile : RenderingProfile.values()) {
+            BufferedImage whole = new TiledRasterizer(1000, 1).render(viewport, graphs, profile);
+            BufferedImage tiled = new TiledRasterizer(96, 4).render(viewport, graphs, profile);
+            assertEquals(1000, tiled.getWidth());
+            assertEquals(700, tiled.getHeight());
+            for (int y = 0; y < 700; y++) {
+                for (int x = 0; x < 1000; x++) {
+                    assertEquals(whole.getRGB(x, y), tiled.getRGB(x, y),
+                            "Pixel " + x + ", " + y + " should not depend on the tiles with the " + profile
+                                    + " profile.");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCurvesAreDrawn() {
+        Viewport viewport = new Viewport(300, 300, 20, 600, 600);
+        Graph graph = graph("x", Color.RED, viewport);
+        BufferedImage image = new TiledRasterizer(64, 2).render(viewport, List.of(graph), RenderingProfile.FAST);
+        assertTrue(isDrawnNear(image, 400, 200, Color.RED), "The curve should be drawn in its color.");
+        assertTrue(isDrawnNear(image, 100, 500, Color.RED), "The curve should cross the tiles.");
+
+        graph.setVisible(false);
+        image = new TiledRasterizer(64, 2).render(viewport, List.of(graph), RenderingProfile.FAST);
+        assertFalse(isDrawnNear(image, 400, 200, Color.RED), "Hidden curves should not be drawn.");
+    }
+
+    /**
+     * @return true if a pixel next to {@code (x, y)} has the color
+     */
+    private static boolean isDrawnNear(BufferedImage image, int x, int y, Color color) {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (image.getRGB(x + dx, y + dy) == color.getRGB()) return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TiledRasterizer(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TiledRasterizer(64, -1));
+    }
+}
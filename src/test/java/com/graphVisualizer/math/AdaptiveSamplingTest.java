@@ -0,0 +1,84 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveSamplingTest {
+
+    private static final SamplingRange RANGE = new SamplingRange(-100, 0.1, 2000, 20);
+
+    private static double maxChordError(CompiledExpression expression, CurveSamples samples, double scale) {
+        double max = 0;
+        for (int i = 0; i + 1 < samples.size(); i++) {
+            double left = samples.y()[i];
+            double right = samples.y()[i + 1];
+            for (int j = 1; j < 8; j++) {
+                double t = j / 8.0;
+                double x = samples.x()[i] + (samples.x()[i + 1] - samples.x()[i]) * t;
+                max = Math.max(max, Math.abs(expression.evaluate(x) - (left + (right - left) * t)) * scale);
+            }
+        }
+        return max;
+    }
+
+    @Test
+    void testFewerPointsOnFlatCurves() {
+        CurveSamples samples = new AdaptiveSampling(0.25, 8, 8000)
+                .sample(ExpressionCompiler.compile("2*x + 1"), RANGE, () -> false);
+        assertTrue(samples.size() < RANGE.count() / 2, "A line should not need every fixed step.");
+        assertEquals(-100, samples.x()[0]);
+        assertEquals(RANGE.end(), samples.x()[samples.size() - 1], 1e-9);
+    }
+
+    @Test
+    void testPointsAreOrdered() {
+        CurveSamples samples = new AdaptiveSampling(0.25, 8, 8000)
+                .sample(ExpressionCompiler.compile("1/sin(x^2)"), RANGE, () -> false);
+        for (int i = 1; i < samples.size(); i++) {
+            assertTrue(samples.x()[i - 1] < samples.x()[i], "Points should be in increasing order of x.");
+        }
+    }
+
+    @Test
+    void testAccuracy() {
+        CompiledExpression expression = ExpressionCompiler.compile("sin(x)*10");
+        CurveSamples samples = new AdaptiveSampling(0.25, 8, 8000).sample(expression, RANGE, () -> false);
+        assertTrue(maxChordError(expression, samples, 20) < 1, "Segments should stay close to the curve on screen.");
+    }
+
+    @Test
+    void testDenserWhereCurveBends() {
+        CurveSamples samples = new AdaptiveSampling(0.25, 8, 8000)
+                .sample(ExpressionCompiler.compile("tan(x)/atan(x)"), new SamplingRange(-10, 0.01, 2001, 20), () -> false);
+        int nearAsymptote = 0;
+        int flat = 0;
+        for (double x : samples.x()) {
+            if (Math.abs(x - Math.PI / 2) < 0.25) nearAsymptote++;
+            if (Math.abs(x - 3.0) < 0.25) flat++;
+        }
+        assertTrue(nearAsymptote > 2 * flat, "Points should concentrate near the asymptote.");
+    }
+
+    @Test
+    void testHardCap() {
+        AtomicInteger evaluations = new AtomicInteger();
+        CompiledExpression expression = x -> {
+            evaluations.incrementAndGet();
+            return Math.sin(x * x);
+        };
+        CurveSamples samples = new AdaptiveSampling(0.01, 8, 700).sample(expression, RANGE, () -> false);
+        assertEquals(700, samples.size(), "The number of points should be capped.");
+        assertTrue(evaluations.get() < 3 * 700, "Evaluations should be bounded by the cap.");
+    }
+
+    @Test
+    void testError() {
+        assertEquals(0, AdaptiveSampling.error(0, 1, 2, 10), 1e-9, "A point on the chord has no error.");
+        assertEquals(5, AdaptiveSampling.error(0, 1.5, 2, 10), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, AdaptiveSampling.error(1, Double.POSITIVE_INFINITY, 2, 10));
+        assertEquals(0, AdaptiveSampling.error(Double.NaN, Double.NaN, Double.NaN, 10));
+    }
+}
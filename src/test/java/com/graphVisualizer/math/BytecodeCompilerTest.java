@@ -0,0 +1,92 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeCompilerTest {
+
+    private static final List<String> EXPRESSIONS = List.of(
+            "x+1",
+            "3*x^2*(x+2)/(64-2*x)",
+            "1/sin(x^2)",
+            "tan(x)/atan(x)",
+            "abs(atan(x)*cosh(x^3))/e^x/(x^3*sinh(x))",
+            "-x^2 + -3*x - -2",
+            "sqrt(x*x) + log(x*x) - ln(abs(x)) + sqrt(x)",
+            "x/0 + 0/0 - (-x)/0",
+            "min(x, 2, -x) + max(x) + sum(x, x, 1) + avg(x, 2*x) + sum(-0*x)",
+            "round(x/3) + ceil(x) - floor(x) + x % 7",
+            "pi*x - e + 0 - -0",
+            "asin(x/50) + acos(x/100)",
+            "2.5*cos(x)^3 + tanh(x/10)");
+
+    private static String outcome(CompiledExpression expression, double x) {
+        try {
+            return Double.toString(expression.evaluate(x));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    void testGeneratesClass() {
+        CompiledExpression compiled = ExpressionCompiler.compile("3*x^2*(x+2)/(64-2*x)", ExpressionCompiler.Backend.BYTECODE);
+        assertFalse(compiled instanceof ExpressionNode, "A class should be generated for a regular expression.");
+        assertTrue(compiled.getClass().isHidden(), "The generated class should be a hidden class.");
+    }
+
+    @Test
+    void testSameValuesAsInterpreter() {
+        for (String expression : EXPRESSIONS) {
+            CompiledExpression interpreted = ExpressionCompiler.compile(expression, ExpressionCompiler.Backend.INTERPRETER);
+            CompiledExpression generated = ExpressionCompiler.compile(expression, ExpressionCompiler.Backend.BYTECODE);
+            for (double x = -100; x < 100; x += 0.1) {
+                assertEquals(outcome(interpreted, x), outcome(generated, x),
+                        "Generated code should match the interpreter for " + expression + " at x=" + x);
+            }
+            for (double x : new double[]{0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+                assertEquals(outcome(interpreted, x), outcome(generated, x),
+                        "Generated code should match the interpreter for " + expression + " at x=" + x);
+            }
+        }
+    }
+
+    @Test
+    void testSample() {
+        CompiledExpression interpreted = ExpressionCompiler.compile("1/sin(x^2)", ExpressionCompiler.Backend.INTERPRETER);
+        CompiledExpression generated = ExpressionCompiler.compile("1/sin(x^2)", ExpressionCompiler.Backend.BYTECODE);
+        double[] expected = new double[2000];
+        double[] actual = new double[2000];
+        interpreted.sample(-100, 0.1, expected);
+        generated.sample(-100, 0.1, actual);
+        assertArrayEquals(expected, actual, "Generated sampling loop should match the interpreter.");
+    }
+
+    @Test
+    void testSampleReportsInvalidArgument() {
+        CompiledExpression generated = ExpressionCompiler.compile("asin(x)", ExpressionCompiler.Backend.BYTECODE);
+        assertThrows(IllegalArgumentException.class, () -> generated.sample(-100, 0.1, new double[2000]));
+    }
+
+    @Test
+    void testUnknownNodeFallsBackToInterpreter() {
+        ExpressionNode square = new ExpressionNode() {
+            @Override
+            public double evaluate(double x) {
+                return x * x;
+            }
+
+            @Override
+            public List<ExpressionNode> getChildren() {
+                return List.of();
+            }
+        };
+        ExpressionNode root = new OperationNode(MathOperation.ADD, square, new ConstantNode(1));
+        CompiledExpression generated = BytecodeCompiler.compile(root);
+        assertNotSame(root, generated, "Only the unknown subtree should be interpreted.");
+        assertEquals(10.0, generated.evaluate(3));
+    }
+}
@@ -0,0 +1,83 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.PathIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscontinuitiesTest {
+
+    private static final Discontinuities DETECTOR = new Discontinuities(50, 16);
+
+    private static CurveSamples fixedStep(String expression, SamplingRange range) {
+        double[] y = new double[range.count()];
+        ExpressionCompiler.compile(expression).sample(range.begin(), range.step(), y);
+        return new CurveSamples(range, FixedStepSampling.points(range), y);
+    }
+
+    @Test
+    void testJumps() {
+        assertTrue(DETECTOR.isJump(30, -2000, 30), "A segment going back across an asymptote is a jump.");
+        assertTrue(DETECTOR.isJump(0, 100, 0), "A step between flat parts is a jump.");
+        assertTrue(DETECTOR.isJump(Double.NaN, -2000, 30), "A missing neighbour should not hide a jump.");
+        assertFalse(DETECTOR.isJump(900, 1000, 1100), "A steep curve is not a jump.");
+        assertFalse(DETECTOR.isJump(-5, 40, -5), "A segment lower than the threshold is not a jump.");
+        assertFalse(DETECTOR.isJump(Double.NaN, 2000, Double.NaN), "An isolated segment cannot be told apart.");
+    }
+
+    @Test
+    void testRefineFindsAsymptote() {
+        CurveSamples samples = fixedStep("tan(x)", new SamplingRange(1, 0.025, 40, 20));
+        CurveSamples refined = DETECTOR.refine(ExpressionCompiler.compile("tan(x)"), samples, () -> false);
+
+        int breaks = 0;
+        for (int i = 0; i < refined.size(); i++) {
+            if (i > 0) assertTrue(refined.x()[i - 1] < refined.x()[i], "Points should stay in increasing order.");
+            if (Double.isNaN(refined.y()[i])) {
+                breaks++;
+                assertEquals(Math.PI / 2, refined.x()[i], 1e-6, "The break should be at the asymptote.");
+                assertTrue(refined.y()[i - 1] > 1e4 && refined.y()[i + 1] < -1e4,
+                        "The curve should reach the asymptote on both sides.");
+            }
+        }
+        assertEquals(1, breaks, "There should be a single break.");
+    }
+
+    @Test
+    void testRefineKeepsSteepCurveWhole() {
+        String expression = "atan(1000*(x - 0.0123))*20";
+        CurveSamples samples = fixedStep(expression, new SamplingRange(-0.5, 0.025, 40, 20));
+        CurveSamples refined = DETECTOR.refine(ExpressionCompiler.compile(expression), samples, () -> false);
+        assertTrue(refined.size() > samples.size(), "The steep part should get extra points.");
+        for (double y : refined.y()) {
+            assertFalse(Double.isNaN(y), "A continuous curve should not be broken.");
+        }
+    }
+
+    @Test
+    void testRefineDisabled() {
+        CurveSamples samples = fixedStep("tan(x)", new SamplingRange(1, 0.025, 40, 20));
+        assertSame(samples, new Discontinuities(50, 0).refine(ExpressionCompiler.compile("tan(x)"), samples,
+                () -> false), "Nothing should be refined with no iterations.");
+    }
+
+    @Test
+    void testCurveIsNotDrawnAcrossSteps() {
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("3*abs(x - 0.01)/(x - 0.01)");
+        graph.calculateGraphCurve(200, 200);
+        float[] segment = new float[6];
+        float lastY = Float.NaN;
+        int runs = 0;
+        for (PathIterator it = graph.getPath().getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(segment);
+            if (type == PathIterator.SEG_MOVETO) runs++;
+            if (type == PathIterator.SEG_LINETO) {
+                assertFalse(Math.abs(segment[1] - lastY) > 100, "No segment should be drawn across the step.");
+            }
+            lastY = segment[1];
+        }
+        assertEquals(2, runs, "The curve should be split at the step.");
+    }
+}
@@ -0,0 +1,76 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationPlanTest {
+
+    private static final List<String> EXPRESSIONS = List.of(
+            "sin(x^2) + atan(x)",
+            "2*sin(x^2)",
+            "atan(x)/sin(x^2)",
+            "sin(x^2)*2 - atan(x)",
+            "abs(atan(x)*cosh(x^3))/e^x/(x^3*sinh(x))");
+
+    @Test
+    void testSharedSubExpressions() {
+        EvaluationPlan plan = EvaluationPlan.compile(EXPRESSIONS);
+        int separate = 0;
+        for (String expression : EXPRESSIONS) {
+            separate += EvaluationPlan.compile(List.of(expression)).getSlotCount();
+        }
+        assertEquals(EXPRESSIONS.size(), plan.getExpressionCount());
+        assertTrue(plan.getSlotCount() < separate, "Common sub-expressions should be evaluated once.");
+        assertEquals(EvaluationPlan.compile(List.of("2*sin(x^2)")).getSlotCount(),
+                EvaluationPlan.compile(List.of("2*sin(x^2)", "sin(x^2)*2")).getSlotCount(),
+                "Commuted expressions should share all slots.");
+    }
+
+    @Test
+    void testSameValuesAsCompiledExpressions() {
+        double[][] values = new double[EXPRESSIONS.size()][2000];
+        IllegalArgumentException[] errors = EvaluationPlan.compile(EXPRESSIONS).sample(-100, 0.1, values);
+        for (int k = 0; k < EXPRESSIONS.size(); k++) {
+            assertNull(errors[k]);
+            double[] expected = new double[2000];
+            ExpressionCompiler.compile(EXPRESSIONS.get(k)).sample(-100, 0.1, expected);
+            assertArrayEquals(expected, values[k], "Shared plan should match " + EXPRESSIONS.get(k));
+        }
+    }
+
+    @Test
+    void testRootsEvaluateTheExpressions() {
+        EvaluationPlan plan = EvaluationPlan.compile(EXPRESSIONS);
+        for (int k = 0; k < EXPRESSIONS.size(); k++) {
+            CompiledExpression compiled = ExpressionCompiler.compile(EXPRESSIONS.get(k));
+            for (double x = -10; x < 10; x += 0.37) {
+                assertEquals(compiled.evaluate(x), plan.getRoot(k).evaluate(x),
+                        "The root should evaluate " + EXPRESSIONS.get(k) + " at " + x);
+            }
+        }
+    }
+
+    @Test
+    void testErrorsAreIsolated() {
+        double[][] values = new double[2][2000];
+        IllegalArgumentException[] errors = EvaluationPlan.compile(List.of("asin(x/50) + sqrt(x)", "x+1"))
+                .sample(-100, 0.1, values);
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> ExpressionCompiler.compile("asin(x/50) + sqrt(x)").sample(-100, 0.1, new double[2000]));
+        assertNotNull(errors[0], "The failing expression should report its error.");
+        assertEquals(expected.getMessage(), errors[0].getMessage());
+        assertNull(errors[1], "The other expression should not fail.");
+        double[] expectedValues = new double[2000];
+        ExpressionCompiler.compile("x+1").sample(-100, 0.1, expectedValues);
+        assertArrayEquals(expectedValues, values[1], "The other expression should be fully sampled.");
+    }
+
+    @Test
+    void testRandomIsNotShared() {
+        EvaluationPlan plan = EvaluationPlan.compile(List.of("random() - random()"));
+        assertEquals(3, plan.getSlotCount(), "Each call to random should keep its own slot.");
+    }
+}
@@ -0,0 +1,145 @@
+package com.graphVisualizer.math;
+
+import com.fathzer.soft.javaluator.StaticVariableSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExpressionCompilerTest {
+
+    private static final List<String> EXPRESSIONS = List.of(
+            "x+1",
+            "3*x^2*(x+2)/(64-2*x)",
+            "1/sin(x^2)",
+            "tan(x)/atan(x)",
+            "abs(atan(x)*cosh(x^3))/e^x/(x^3*sinh(x))",
+            "-x^2 + -3*x - -2",
+            "sqrt(x*x) + log(x*x) - ln(abs(x))",
+            "x/0 + 0/0 - (-x)/0",
+            "min(x, 2, -x) + max(x) + sum(x, x, 1) + avg(x, 2*x)",
+            "round(x/3) + ceil(x) - floor(x) + x % 7",
+            "pi*x - e",
+            "2.5*cos(x)^3 + tanh(x/10)");
+
+    /**
+     * Evaluates the expression the way {@code Graph} used to, with {@code CustomEvaluator} at every sample.
+     */
+    private static double reference(String expression, double x) {
+        StaticVariableSet<Double> variables = new StaticVariableSet<>();
+        variables.set("x", x);
+        return new CustomEvaluator().evaluate(expression, variables);
+    }
+
+    /**
+     * Asserts that both evaluators give the same value, or fail with the same message.
+     */
+    private static void assertSameOutcome(String expression, CompiledExpression compiled, double x) {
+        String expected;
+        String actual;
+        try {
+            expected = Double.toString(reference(expression, x));
+        } catch (IllegalArgumentException e) {
+            expected = e.getMessage();
+        }
+        try {
+            actual = Double.toString(compiled.evaluate(x));
+        } catch (IllegalArgumentException e) {
+            actual = e.getMessage();
+        }
+        assertEquals(expected, actual, "Compiled expression should match CustomEvaluator for " + expression + " at x=" + x);
+    }
+
+    @Test
+    void testSameValuesAsCustomEvaluator() {
+        for (String expression : EXPRESSIONS) {
+            CompiledExpression compiled = ExpressionCompiler.compile(expression);
+            for (double x = -100; x < 100; x += 0.1) {
+                assertSameOutcome(expression, compiled, x);
+            }
+            for (double x : new double[]{0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+                assertSameOutcome(expression, compiled, x);
+            }
+        }
+    }
+
+    @Test
+    void testCustomSemantics() {
+        assertEquals(Double.POSITIVE_INFINITY, ExpressionCompiler.compile("1/x").evaluate(0));
+        assertEquals(Double.NEGATIVE_INFINITY, ExpressionCompiler.compile("-1/x").evaluate(0));
+        assertEquals(0.0, ExpressionCompiler.compile("0/x").evaluate(0));
+        assertEquals(0.0, ExpressionCompiler.compile("sqrt(x)").evaluate(-0.0));
+        assertEquals(Double.NEGATIVE_INFINITY, ExpressionCompiler.compile("log(x)").evaluate(0));
+        assertEquals(Double.NEGATIVE_INFINITY, ExpressionCompiler.compile("ln(x)").evaluate(0));
+        assertTrue(Double.isNaN(ExpressionCompiler.compile("sqrt(x)").evaluate(-1)), "sqrt is not NaN checked.");
+    }
+
+    @Test
+    void testInvalidArgumentIsReported() {
+        CompiledExpression compiled = ExpressionCompiler.compile("asin(x)");
+        assertEquals(Math.asin(0.5), compiled.evaluate(0.5));
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class, () -> reference("asin(x)", 2));
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class, () -> compiled.evaluate(2));
+        assertEquals(expected.getMessage(), actual.getMessage(), "Error message should match CustomEvaluator.");
+    }
+
+    @Test
+    void testInvalidExpression() {
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("invalid_expr"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("2x+3"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("sin(x"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("y+1"));
+    }
+
+    @Test
+    void testTreeStructure() {
+        ExpressionNode root = ExpressionCompiler.parse("2*x+1");
+        assertInstanceOf(OperationNode.class, root);
+        assertEquals(MathOperation.ADD, ((OperationNode) root).getOperation());
+        assertEquals(5, root.size(), "2*x+1 should have five nodes.");
+        assertEquals("((2.0 * x) + 1.0)", root.toString());
+    }
+
+    @Test
+    void testVectorBackendSamplesLikeBytecode() {
+        List<String> expressions = new ArrayList<>(EXPRESSIONS);
+        expressions.addAll(List.of("abs(sqrt(x)) + 1", "max(sqrt(x), 1)", "(x - 3)^2 / (x^2 + 1)"));
+        for (String expression : expressions) {
+            // An odd count, so that the last samples do not fill a vector
+            double[] expected = new double[1999];
+            double[] actual = new double[expected.length];
+            String expectedError = sample(ExpressionCompiler.compile(expression, ExpressionCompiler.Backend.BYTECODE),
+                    expected);
+            String actualError = sample(ExpressionCompiler.compile(expression, ExpressionCompiler.Backend.VECTOR),
+                    actual);
+            assertEquals(expectedError, actualError, "Both backends should fail the same way for " + expression);
+            assertArrayEquals(expected, actual, "Both backends should give the same samples for " + expression);
+        }
+    }
+
+    @Test
+    void testOnlyArithmeticIsVectorized() {
+        assumeTrue(ExpressionCompiler.isVectorAvailable(), "The vector profile is not active.");
+        assertEquals("VectorizedExpression", ExpressionCompiler.compile("3*x^2*(x+2)/(64-2*x)",
+                ExpressionCompiler.Backend.VECTOR).getClass().getSimpleName());
+        assertNotEquals("VectorizedExpression", ExpressionCompiler.compile("1/sin(x^2)",
+                ExpressionCompiler.Backend.VECTOR).getClass().getSimpleName(), "sin should not be vectorized.");
+        assertNotEquals("VectorizedExpression", ExpressionCompiler.compile("x^3",
+                ExpressionCompiler.Backend.VECTOR).getClass().getSimpleName(), "Only squares should be vectorized.");
+    }
+
+    /**
+     * Samples the expression from -100, and returns the message of its error, if any.
+     */
+    private static String sample(CompiledExpression compiled, double[] values) {
+        try {
+            compiled.sample(-100, 0.1003, values);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
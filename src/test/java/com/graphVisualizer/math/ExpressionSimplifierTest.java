@@ -0,0 +1,101 @@
+package com.graphVisualizer.math;
+
+import com.fathzer.soft.javaluator.StaticVariableSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionSimplifierTest {
+
+    private static final List<String> EXPRESSIONS = List.of(
+            "x+1",
+            "3*x^2*(x+2)/(64-2*x)",
+            "1/sin(x^2)",
+            "tan(x)/atan(x)",
+            "abs(atan(x)*cosh(x^3))/e^x/(x^3*sinh(x))",
+            "x*1 + 1*x - x/1 + x^1",
+            "(x - 0)^(-1) + (x + (-0))^(-1) + atan(x + 0)",
+            "-(-x) + x*(-1) + (-1)*x - (-x) + x + (-x)",
+            "pi/2*x + e^2 - sin(pi/2)",
+            "(x/0)^0 + asin(x)^0",
+            "2*x + x*2 - (x*2 + 2*x)",
+            "1/(x-0) + 1/(0-x) + 1/(x*1)",
+            "sqrt(x) * asin(x/100) + asin(x/100) * sqrt(x)",
+            "asin(2)*x + sqrt(-1)");
+
+    private static String reference(String expression, double x) {
+        StaticVariableSet<Double> variables = new StaticVariableSet<>();
+        variables.set("x", x);
+        try {
+            return Double.toString(new CustomEvaluator().evaluate(expression, variables));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String outcome(ExpressionNode node, double x) {
+        try {
+            return Double.toString(node.evaluate(x));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    void testEquivalentToCustomEvaluator() {
+        for (String expression : EXPRESSIONS) {
+            ExpressionNode simplified = ExpressionSimplifier.simplify(ExpressionCompiler.parse(expression));
+            for (double x = -100; x < 100; x += 0.1) {
+                assertEquals(reference(expression, x), outcome(simplified, x),
+                        "Simplified tree should match CustomEvaluator for " + expression + " at x=" + x);
+            }
+            for (double x : new double[]{0.0, -0.0, 1.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+                assertEquals(reference(expression, x), outcome(simplified, x),
+                        "Simplified tree should match CustomEvaluator for " + expression + " at x=" + x);
+            }
+        }
+    }
+
+    @Test
+    void testConstantFolding() {
+        ExpressionNode folded = ExpressionSimplifier.simplify(ExpressionCompiler.parse("pi/2 + e^2 - sqrt(16)"));
+        assertInstanceOf(ConstantNode.class, folded, "A constant expression should be folded into one node.");
+        assertEquals(Math.PI / 2 + Math.pow(Math.E, 2) - 4, folded.evaluate(0));
+    }
+
+    @Test
+    void testInvalidConstantIsNotFolded() {
+        ExpressionNode simplified = ExpressionSimplifier.simplify(ExpressionCompiler.parse("asin(2)"));
+        assertInstanceOf(OperationNode.class, simplified, "A failing constant should be reported at evaluation.");
+        assertThrows(IllegalArgumentException.class, () -> simplified.evaluate(0));
+    }
+
+    @Test
+    void testIdentities() {
+        assertSame(VariableNode.X, ExpressionSimplifier.simplify(ExpressionCompiler.parse("((x*1)^1)/1 - 0")));
+        assertSame(VariableNode.X, ExpressionSimplifier.simplify(ExpressionCompiler.parse("-(-x)")));
+        assertEquals("(x + 0.0)", ExpressionSimplifier.simplify(ExpressionCompiler.parse("x+0")).toString(),
+                "x+0 should be kept, since it changes the sign of zero.");
+    }
+
+    @Test
+    void testCanonicalOrder() {
+        ExpressionNode a = ExpressionSimplifier.simplify(ExpressionCompiler.parse("2*sin(x) + x"));
+        ExpressionNode b = ExpressionSimplifier.simplify(ExpressionCompiler.parse("x + sin(x)*2"));
+        assertEquals(a.toString(), b.toString(), "Commuted operands should be written the same way.");
+    }
+
+    @Test
+    void testLessWorkPerSample() {
+        for (String expression : EXPRESSIONS) {
+            ExpressionNode parsed = ExpressionCompiler.parse(expression);
+            assertTrue(ExpressionSimplifier.simplify(parsed).size() <= parsed.size(),
+                    "Simplification should never grow the tree of " + expression);
+        }
+        ExpressionNode parsed = ExpressionCompiler.parse("pi/2*x + e^2 - sin(pi/2)");
+        assertEquals(14, parsed.size());
+        assertEquals(7, ExpressionSimplifier.simplify(parsed).size());
+    }
+}
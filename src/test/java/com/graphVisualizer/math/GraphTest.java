@@ -0,0 +1,165 @@
+package com.graphVisualizer.math;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphTest {
+
+    @Test
+    void testSamplePreview() {
+        Graph graph = new Graph();
+        graph.setSamplingStrategy(new FixedStepSampling(ParallelSampler.getDefault()));
+        CurveSamples full = graph.sampleExpression(ExpressionCompiler.compile("3*x - 2"), () -> false);
+        CurveSamples preview = graph.samplePreview(ExpressionCompiler.compile("3*x - 2"), 16);
+        assertEquals((full.size() - 1) / 16 + 1, preview.size(), "The preview should evaluate every 16th step.");
+        for (int i = 0; i < preview.size(); i++) {
+            assertEquals(full.x()[i * 16], preview.x()[i], 1e-9);
+            assertEquals(full.y()[i * 16], preview.y()[i], 1e-9);
+        }
+    }
+
+    @Test
+    void testSetSamplesIsAtomic() {
+        Graph graph = new Graph();
+        CurveSamples samples = graph.sampleExpression(ExpressionCompiler.compile("x^2"), () -> false);
+        graph.setSamples("x^2", samples);
+        assertSame(samples, graph.getSamples(), "The samples should be published as a whole.");
+        assertEquals("x^2", graph.getExpression());
+    }
+
+    @Test
+    void testFailedEvaluationKeepsSamples() {
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("x+1");
+        CurveSamples samples = graph.getSamples();
+        assertThrows(IllegalArgumentException.class, () -> graph.setValuesFromExpression("asin(x)"));
+        assertSame(samples, graph.getSamples(), "A failed evaluation should not publish partial samples.");
+    }
+
+    @Test
+    void testCurveFollowsSamples() {
+        Graph graph = new Graph();
+        graph.setSamplingStrategy(new AdaptiveSampling(0.25, 8, 1000));
+        graph.setValuesFromExpression("x^2");
+        graph.calculateGraphCurve(200, 200);
+        CurveSamples samples = graph.getSamples();
+        float[] coordinates = graph.getScreenCoordinates();
+        assertTrue(coordinates.length >= 2 * samples.size(), "There should be one coordinate pair per point.");
+        assertEquals(samples.x()[1] * 20 + 200, coordinates[2], 1e-3);
+        assertEquals(-samples.y()[1] * 20 + 200, coordinates[3], 1e-3);
+    }
+
+    @Test
+    void testPathLeavesOutInvisibleSegments() {
+        Graph graph = new Graph();
+        graph.setValuesFromExpression("1/x");
+        graph.calculateGraphCurve(200, 200);
+        int moves = 0;
+        int lines = 0;
+        for (PathIterator it = graph.getPath().getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(new float[6]);
+            if (type == PathIterator.SEG_MOVETO) moves++;
+            if (type == PathIterator.SEG_LINETO) lines++;
+        }
+        assertEquals(2, moves, "The asymptote should split the curve in two.");
+        assertTrue(lines < graph.getSamples().size() - 1, "Segments off the screen should be left out.");
+        assertEquals(lines, graph.getSegmentCount(), "The segments of the path should be counted.");
+        assertTrue(graph.getEvaluationNanos() > 0, "The evaluation should be timed.");
+        assertEquals(1, graph.getEvaluationLatency().count(), "The evaluation should be recorded once.");
+        assertEquals(new Rectangle(0, 0, 400, 400), graph.getCurveBounds(),
+                "The hyperbola should cover the screen, and its bounds should be clipped to it.");
+
+        float[] before = graph.getScreenCoordinates();
+        graph.calculateGraphCurve(200, 200);
+        assertSame(before, graph.getScreenCoordinates(), "The coordinate buffer should be reused.");
+    }
+
+    @Test
+    void testResampleReusesOverlap() {
+        Graph graph = new Graph();
+        graph.setSamplingStrategy(new FixedStepSampling(ParallelSampler.getDefault()));
+        AtomicInteger evaluations = new AtomicInteger();
+        CompiledExpression expression = x -> {
+            evaluations.incrementAndGet();
+            return x * x;
+        };
+        CurveSamples previous = graph.sampleExpression(expression, () -> false);
+        graph.setSamples("x^2", previous);
+
+        graph.setViewport(graph.getViewport().translated(-40, 0));
+        evaluations.set(0);
+        CurveSamples panned = graph.resample(expression, previous, () -> false);
+        assertEquals(graph.getSamplingRange(), panned.range());
+        assertTrue(evaluations.get() <= 2 * 40 + 2, "Only the columns scrolled into view should be evaluated.");
+        for (int i = 0; i < panned.size(); i++) {
+            assertEquals(panned.x()[i] * panned.x()[i], panned.y()[i], 1e-6, "Sample " + i + " should match its x.");
+        }
+        assertFalse(graph.isSampledFor(graph.getSamplingRange()), "The previous samples are for another viewport.");
+        graph.setSamples("x^2", panned);
+        assertTrue(graph.isSampledFor(graph.getSamplingRange()));
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws IOException {
+        Graph graph = new Graph();
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("graph", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.graphVisualizer.ExpressionParse");
+            recording.enable("com.graphVisualizer.GraphSampling");
+            recording.enable("com.graphVisualizer.CurveBuild");
+            recording.start();
+            graph.setValuesFromExpression("cos(x)");
+            graph.calculateGraphCurve(200, 200);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        RecordedEvent parse = event(events, "com.graphVisualizer.ExpressionParse");
+        assertEquals("cos(x)", parse.getString("expression"));
+        RecordedEvent sampling = event(events, "com.graphVisualizer.GraphSampling");
+        assertEquals("cos(x)", sampling.getString("expression"));
+        assertEquals(graph.getSamples().size(), sampling.getInt("samples"), "The samples should be recorded.");
+        RecordedEvent curve = event(events, "com.graphVisualizer.CurveBuild");
+        assertEquals(graph.getSamples().size(), curve.getInt("samples"));
+        assertEquals(graph.getSegmentCount(), curve.getInt("segments"), "The segments should be recorded.");
+        assertTrue(curve.getInt("points") > 0, "The decimated points should be recorded.");
+    }
+
+    @Test
+    void testInvalidExpressionDoesNotStopTheOthers() {
+        List<Graph> graphs = List.of(new Graph(), new Graph(), new Graph());
+        CurveSamples invalidSamples = graphs.get(1).getSamples();
+        assertThrows(IllegalArgumentException.class,
+                () -> Graph.setValuesFromExpressions(graphs, List.of("x", "sin(", "x^2")),
+                "The invalid expression should be reported.");
+
+        assertSame(invalidSamples, graphs.get(1).getSamples(), "The invalid expression should not be sampled.");
+        CurveSamples samples = graphs.get(2).getSamples();
+        for (int i = 0; i < samples.size(); i += 100) {
+            double x = samples.x()[i];
+            assertEquals(x, graphs.get(0).getSamples().y()[i], 1e-9, "The valid expressions should be sampled.");
+            assertEquals(x * x, samples.y()[i], 1e-9, "The valid expressions should be sampled.");
+        }
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event was recorded."));
+    }
+}
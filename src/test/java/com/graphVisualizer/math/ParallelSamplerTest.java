@@ -0,0 +1,67 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSamplerTest {
+
+    private static final int COUNT = 10_000;
+
+    @Test
+    void testSameValuesAsSequentialSampling() {
+        CompiledExpression expression = ExpressionCompiler.compile("x^3/7 - 3*x^2 + sin(x)");
+        double[] parallel = new double[COUNT];
+        new ParallelSampler(777, 4).sample(expression, -100, 0.02, parallel);
+        for (int i = 0; i < COUNT; i++) {
+            double x = -100 + (i / 777) * 777 * 0.02;
+            for (int j = i / 777 * 777; j < i; j++) x += 0.02;
+            assertEquals(expression.evaluate(x), parallel[i], "Sample " + i + " should be evaluated at its own x.");
+        }
+        double[] sequential = new double[COUNT];
+        expression.sample(-100, 0.02, sequential);
+        assertArrayEquals(sequential, parallel, 1e-6, "Chunking should only change the last bits of x.");
+    }
+
+    @Test
+    void testSmallRangeIsSequential() {
+        CompiledExpression expression = ExpressionCompiler.compile("1/sin(x^2)");
+        double[] expected = new double[2000];
+        double[] actual = new double[2000];
+        expression.sample(-100, 0.1, expected);
+        new ParallelSampler(4096, 4).sample(expression, -100, 0.1, actual);
+        assertArrayEquals(expected, actual, "A single chunk should be sampled exactly like before.");
+    }
+
+    @Test
+    void testReportsInvalidArgument() {
+        CompiledExpression expression = ExpressionCompiler.compile("asin(x/50)");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSampler(100, 4).sample(expression, -100, 0.02, new double[COUNT]));
+        assertEquals("Invalid argument passed to asin", e.getMessage());
+    }
+
+    @Test
+    void testEvaluationPlan() {
+        List<String> expressions = List.of("asin(x/50) + sqrt(x)", "sin(x^2) + x", "2*sin(x^2)");
+        double[][] parallel = new double[3][COUNT];
+        IllegalArgumentException[] errors = new ParallelSampler(500, 3)
+                .sample(EvaluationPlan.compile(expressions), -100, 0.02, parallel);
+        assertNotNull(errors[0], "The failing expression should report its error.");
+        assertNull(errors[1]);
+        assertNull(errors[2]);
+        for (int k = 1; k < 3; k++) {
+            double[] sequential = new double[COUNT];
+            ExpressionCompiler.compile(expressions.get(k)).sample(-100, 0.02, sequential);
+            assertArrayEquals(sequential, parallel[k], 1e-6, "Parallel plan should match " + expressions.get(k));
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSampler(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSampler(10, -1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolylineDecimatorTest {
+
+    /**
+     * A noisy curve with {@code perColumn} points in every pixel column of a 200 pixels wide screen.
+     */
+    private static float[] denseCurve(int perColumn) {
+        int count = 200 * perColumn;
+        float[] coordinates = new float[2 * count];
+        for (int i = 0; i < count; i++) {
+            double x = (double) i / perColumn;
+            coordinates[2 * i] = (float) x;
+            coordinates[2 * i + 1] = (float) (100 + 60 * Math.sin(x / 15) + 20 * Math.sin(i * 1.7));
+        }
+        return coordinates;
+    }
+
+    private static BufferedImage draw(float[] coordinates, int count) {
+        Path2D.Float path = new Path2D.Float();
+        path.moveTo(coordinates[0], coordinates[1]);
+        for (int i = 1; i < count; i++) {
+            path.lineTo(coordinates[2 * i], coordinates[2 * i + 1]);
+        }
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.draw(path);
+        g2.dispose();
+        return image;
+    }
+
+    @Test
+    void testVerticesBoundedByColumns() {
+        float[] coordinates = denseCurve(50);
+        float[] decimated = new float[coordinates.length];
+        int points = PolylineDecimator.decimate(coordinates, coordinates.length / 2, decimated);
+        assertTrue(points <= 4 * 200, "At most four points should be kept per column, but " + points + " were.");
+        assertEquals(coordinates[0], decimated[0], "The first point should be kept.");
+        assertEquals(coordinates[coordinates.length - 1], decimated[2 * points - 1], "The last point should be kept.");
+    }
+
+    @Test
+    void testWiderColumnsKeepFewerVertices() {
+        float[] coordinates = denseCurve(50);
+        float[] decimated = new float[coordinates.length];
+        int points = PolylineDecimator.decimate(coordinates, coordinates.length / 2, 2, decimated);
+        assertTrue(points <= 4 * 101, "At most four points should be kept per two pixels, but " + points
+                + " were.");
+        assertEquals(coordinates[coordinates.length - 1], decimated[2 * points - 1], "The last point should be kept.");
+    }
+
+    @Test
+    void testColumnsSpanTheSamePixels() {
+        float[] coordinates = denseCurve(50);
+        float[] decimated = new float[coordinates.length];
+        int points = PolylineDecimator.decimate(coordinates, coordinates.length / 2, decimated);
+
+        BufferedImage full = draw(coordinates, coordinates.length / 2);
+        BufferedImage reduced = draw(decimated, points);
+        for (int x = 0; x < 200; x++) {
+            int[] expected = span(full, x);
+            int[] actual = span(reduced, x);
+            assertEquals(expected[0], actual[0], 1, "The top of column " + x + " should not move.");
+            assertEquals(expected[1], actual[1], 1, "The bottom of column " + x + " should not move.");
+        }
+    }
+
+    /**
+     * @return the first and last rows drawn in a column of the image
+     */
+    private static int[] span(BufferedImage image, int x) {
+        int top = -1;
+        int bottom = -1;
+        for (int y = 0; y < image.getHeight(); y++) {
+            if (image.getRGB(x, y) != 0) {
+                if (top < 0) top = y;
+                bottom = y;
+            }
+        }
+        return new int[]{top, bottom};
+    }
+
+    @Test
+    void testSparseCurveIsKept() {
+        float[] coordinates = {0, 10, 2.7f, 20, 5, 15};
+        float[] decimated = new float[coordinates.length];
+        assertEquals(3, PolylineDecimator.decimate(coordinates, 3, decimated));
+        assertArrayEquals(coordinates, decimated, "Points in different columns should all be kept.");
+    }
+
+    @Test
+    void testBreaksAreKept() {
+        float[] coordinates = {0, 10, 0.1f, 30, 0.2f, Float.NaN, 0.3f, 5, 0.35f, 50, 0.4f, 7};
+        float[] decimated = new float[coordinates.length];
+        int points = PolylineDecimator.decimate(coordinates, 6, decimated);
+        assertArrayEquals(coordinates, Arrays.copyOf(decimated, 2 * points),
+                "A non-finite point should split the column in two runs.");
+    }
+}
@@ -0,0 +1,55 @@
+package com.graphVisualizer.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportTest {
+
+    @Test
+    void testScreenMapping() {
+        Viewport viewport = new Viewport(200, 200, 20, 400, 400);
+        assertEquals(200, viewport.toScreenX(0));
+        assertEquals(240, viewport.toScreenX(2));
+        assertEquals(160, viewport.toScreenY(2), "The y axis should point up.");
+        assertEquals(2, viewport.toWorldX(240));
+    }
+
+    @Test
+    void testSamplingRangeFollowsScreenWidth() {
+        SamplingRange range = new Viewport(200, 200, 20, 400, 400).samplingRange(2, 16, -100, 100);
+        assertEquals(-10.8, range.begin(), range.step(), "The range should start one margin left of the screen.");
+        assertEquals(10.8, range.end(), range.step(), "The range should end one margin right of the screen.");
+        assertEquals(2 * (400 + 2 * 16), range.count(), 1, "There should be two samples per pixel column.");
+
+        SamplingRange zoomedIn = new Viewport(200, 200, 2000, 400, 400).samplingRange(2, 16, -100, 100);
+        assertEquals(range.count(), zoomedIn.count(), 1, "The number of samples should not depend on the scale.");
+    }
+
+    @Test
+    void testPannedRangesShareSamples() {
+        Viewport viewport = new Viewport(200, 200, 20, 400, 400);
+        SamplingRange range = viewport.samplingRange(2, 16, -100, 100);
+        SamplingRange panned = viewport.translated(-37, 12).samplingRange(2, 16, -100, 100);
+        double offset = (panned.begin() - range.begin()) / range.step();
+        assertEquals(Math.round(offset), offset, 1e-6, "Panned ranges should start on the same grid.");
+    }
+
+    @Test
+    void testZoomKeepsPointUnderCursor() {
+        Viewport viewport = new Viewport(200, 200, 20, 400, 400);
+        Viewport zoomed = viewport.zoomed(2, 300, 100);
+        assertEquals(40, zoomed.scale());
+        assertEquals(viewport.toWorldX(300), zoomed.toWorldX(300), 1e-9, "The point under the cursor should stay.");
+        assertEquals(100, zoomed.toScreenY((200 - 100) / 20.0), 1e-9, "The vertical point should stay too.");
+    }
+
+    @Test
+    void testSamplingRangeIsClamped() {
+        SamplingRange range = new Viewport(200, 200, 1, 400, 400).samplingRange(2, 16, -100, 100);
+        assertEquals(-100, range.begin(), 1e-9);
+        assertEquals(100, range.end(), 1e-9);
+        assertEquals(1, new Viewport(5000, 200, 20, 400, 400).samplingRange(2, 16, -100, 100).count(),
+                "An invisible range should be a single sample.");
+    }
+}
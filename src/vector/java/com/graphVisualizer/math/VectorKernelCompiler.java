@@ -0,0 +1,294 @@
+package com.graphVisualizer.math;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Translates an arithmetic expression tree into a hidden class implementing {@code VectorizedExpression.Kernel}.
+ * <p>
+ * The kernel is one loop over the vectors of a block of {@code x}, whose body is the formula as straight-line
+ * calls to the static helpers of {@code VectorizedExpression}. Every call is inlined and every vector operation
+ * is intrinsified by the JIT, so the whole formula runs in vector registers, the way {@code BytecodeCompiler}
+ * runs it in scalar registers. The result of every node is kept in a local variable, so that the operand stack
+ * is empty when the result of a checked function is tested for {@code NaN}, and the loop can be left there.
+ * <p>
+ * Only the operations whose vector form gives exactly the result of the scalar one are compiled: the arithmetic
+ * operators, {@code abs}, {@code sqrt}, {@code min}, {@code max}, {@code sum}, {@code avg}, and {@code ^2}.
+ * The vector transcendental functions are not correctly rounded like {@code Math}, and floors, rounding,
+ * remainders and other powers have no vector operation.
+ *
+ * @see VectorizedExpression
+ * @see BytecodeCompiler
+ */
+final class VectorKernelCompiler {
+
+    private static final String CLASS_NAME = "com/graphVisualizer/math/GeneratedKernel";
+    private static final String HELPERS = "com/graphVisualizer/math/VectorizedExpression";
+    private static final String KERNEL = "com/graphVisualizer/math/VectorizedExpression$Kernel";
+    private static final String VECTOR = "Ljdk/incubator/vector/DoubleVector;";
+    private static final String UNARY = "(" + VECTOR + ")" + VECTOR;
+    private static final String BINARY = "(" + VECTOR + VECTOR + ")" + VECTOR;
+    private static final String SAMPLE = "([D[DIII)I";
+
+    /**
+     * The number of nodes compiled at most, so that every node has a local variable addressed by one byte.
+     */
+    static final int MAX_NODES = 240;
+
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD = 0x19;
+    private static final int ASTORE = 0x3a;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int IADD = 0x60;
+    private static final int IFNE = 0x9a;
+    private static final int IF_ICMPGE = 0xa2;
+    private static final int GOTO = 0xa7;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private static final int FRAME_FULL = 255;
+    private static final int FRAME_SAME_EXTENDED = 251;
+    private static final int ITEM_INTEGER = 1;
+    private static final int ITEM_OBJECT = 7;
+
+    /**
+     * The local variables of {@code sample(xs, values, offset, i, length)}, followed by the results of the nodes.
+     */
+    private static final int XS = 1;
+    private static final int VALUES = 2;
+    private static final int OFFSET = 3;
+    private static final int INDEX = 4;
+    private static final int LENGTH = 5;
+    private static final int X = 6;
+
+    private final ClassFileWriter writer = new ClassFileWriter();
+
+    /**
+     * The local variable holding the vector of every node already emitted in the current iteration.
+     */
+    private final Map<ExpressionNode, Integer> locals = new IdentityHashMap<>();
+
+    /**
+     * The branches to the end of the loop, patched once it is emitted.
+     */
+    private final List<Integer> exits = new ArrayList<>();
+
+    private VectorKernelCompiler() {
+    }
+
+    /**
+     * Determines if every operation of the tree has an exact vector form.
+     *
+     * @param node the root of the tree
+     * @return true if the tree can be compiled
+     */
+    static boolean isVectorizable(ExpressionNode node) {
+        if (node instanceof OperationNode operation) {
+            boolean vectorizable = switch (operation.getOperation()) {
+                case NEGATE, ADD, SUBTRACT, MULTIPLY, DIVIDE, ABS, SQRT, MIN, MAX, SUM, AVG -> true;
+                // Math.pow(a, 2) is exactly a * a, as in fdlibm
+                case POWER -> node.getChildren().get(1) instanceof ConstantNode exponent && exponent.getValue() == 2;
+                default -> false;
+            };
+            if (!vectorizable) return false;
+            for (ExpressionNode child : node.getChildren()) {
+                if (!isVectorizable(child)) return false;
+            }
+            return true;
+        }
+        return node instanceof ConstantNode || node instanceof VariableNode;
+    }
+
+    /**
+     * Compiles the expression tree into a kernel.
+     *
+     * @param root the root of a vectorizable tree of at most {@link #MAX_NODES} nodes
+     * @return an instance of the generated class
+     * @throws ReflectiveOperationException if the class cannot be instantiated
+     */
+    static VectorizedExpression.Kernel compile(ExpressionNode root) throws ReflectiveOperationException {
+        return new VectorKernelCompiler().generate(root);
+    }
+
+    private VectorizedExpression.Kernel generate(ExpressionNode root) throws ReflectiveOperationException {
+        ClassFileWriter.Code constructor = new ClassFileWriter.Code(1);
+        constructor.op(ALOAD_0, 1)
+                .op2(INVOKESPECIAL, writer.methodRef("java/lang/Object", "<init>", "()V"), -1)
+                .op(RETURN, 0);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", constructor);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, "sample", SAMPLE, sample(root));
+        byte[] bytes = writer.toByteArray(ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER, CLASS_NAME,
+                "java/lang/Object", KERNEL);
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        try {
+            return (VectorizedExpression.Kernel) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Generates {@code sample(xs, values, offset, i, length)}: from the vector at {@code i}, evaluates the formula
+     * for the values of {@code x} of {@code xs}, and stores the results in {@code values} from {@code offset + i},
+     * until {@code length}. Returns the index of the first vector in which a checked function returned
+     * {@code NaN}, before storing it, or {@code length}.
+     */
+    private ClassFileWriter.Code sample(ExpressionNode root) {
+        ClassFileWriter.Code code = new ClassFileWriter.Code(X + 1 + root.size());
+        int loop = code.position();
+        code.op1(ILOAD, INDEX, 1).op1(ILOAD, LENGTH, 1);
+        exits.add(code.position());
+        code.op2(IF_ICMPGE, 0, -2)
+                .op1(ALOAD, XS, 1).op1(ILOAD, INDEX, 1)
+                .op2(INVOKESTATIC, writer.methodRef(HELPERS, "load", "([DI)" + VECTOR), -1)
+                .op1(ASTORE, X, -1);
+        int result = emit(code, root);
+        code.op1(ALOAD, result, 1).op1(ALOAD, VALUES, 1)
+                .op1(ILOAD, OFFSET, 1).op1(ILOAD, INDEX, 1).op(IADD, -1)
+                .op2(INVOKESTATIC, writer.methodRef(HELPERS, "store", "(" + VECTOR + "[DI)V"), -3);
+        code.iinc(INDEX, VectorizedExpression.SPECIES.length());
+        int back = code.position();
+        code.op2(GOTO, loop - back, 0);
+        int end = code.position();
+        code.op1(ILOAD, INDEX, 1).op(IRETURN, -1);
+        for (int exit : exits) {
+            code.patch2(exit, end - exit);
+        }
+
+        // Both branch targets see the parameters, whatever vectors the body left in the other locals
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write(FRAME_FULL);
+        writeShort(frame, loop);
+        writeShort(frame, X);
+        frame.write(ITEM_OBJECT);
+        writeShort(frame, writer.classRef(CLASS_NAME));
+        frame.write(ITEM_OBJECT);
+        writeShort(frame, writer.classRef("[D"));
+        frame.write(ITEM_OBJECT);
+        writeShort(frame, writer.classRef("[D"));
+        frame.write(ITEM_INTEGER);
+        frame.write(ITEM_INTEGER);
+        frame.write(ITEM_INTEGER);
+        writeShort(frame, 0);
+        code.frame(frame.toByteArray());
+        ByteArrayOutputStream same = new ByteArrayOutputStream();
+        same.write(FRAME_SAME_EXTENDED);
+        writeShort(same, end - loop - 1);
+        code.frame(same.toByteArray());
+        return code;
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >> 8);
+        out.write(value);
+    }
+
+    /**
+     * Emits the code that stores the vector of {@code node} in a local variable, its operands first.
+     *
+     * @return the local variable
+     */
+    private int emit(ClassFileWriter.Code code, ExpressionNode node) {
+        if (node instanceof VariableNode) return X;
+        Integer emitted = locals.get(node);
+        if (emitted != null) return emitted;
+        if (node instanceof ConstantNode constant) {
+            pushDouble(code, constant.getValue());
+            invokeHelper(code, "broadcast", "(D)" + VECTOR, -1);
+        } else {
+            emitOperation(code, (OperationNode) node);
+        }
+        int local = X + 1 + locals.size();
+        code.op1(ASTORE, local, -1);
+        locals.put(node, local);
+        if (node instanceof OperationNode operation && operation.getOperation().isNanChecked()) {
+            code.op1(ALOAD, local, 1);
+            invokeHelper(code, "hasNaN", "(" + VECTOR + ")Z", 0);
+            exits.add(code.position());
+            code.op2(IFNE, 0, -1);
+        }
+        return local;
+    }
+
+    /**
+     * Emits an operation, which leaves its vector on the operand stack.
+     */
+    private void emitOperation(ClassFileWriter.Code code, OperationNode node) {
+        MathOperation operation = node.getOperation();
+        List<ExpressionNode> operands = node.getChildren();
+        int[] operandLocals = new int[operands.size()];
+        for (int i = 0; i < operandLocals.length; i++) {
+            operandLocals[i] = emit(code, operands.get(i));
+        }
+        switch (operation) {
+            case SUM, AVG -> {
+                pushDouble(code, 0);
+                invokeHelper(code, "broadcast", "(D)" + VECTOR, -1);
+                for (int operand : operandLocals) {
+                    code.op1(ALOAD, operand, 1);
+                    invokeHelper(code, "add", BINARY, -1);
+                }
+                if (operation == MathOperation.AVG) {
+                    pushDouble(code, operands.size());
+                    invokeHelper(code, "broadcast", "(D)" + VECTOR, -1);
+                    invokeHelper(code, "div", BINARY, -1);
+                }
+            }
+            case MIN, MAX -> {
+                code.op1(ALOAD, operandLocals[0], 1);
+                for (int i = 1; i < operandLocals.length; i++) {
+                    code.op1(ALOAD, operandLocals[i], 1);
+                    invokeHelper(code, operation == MathOperation.MIN ? "min" : "max", BINARY, -1);
+                }
+            }
+            case POWER -> {
+                code.op1(ALOAD, operandLocals[0], 1);
+                invokeHelper(code, "square", UNARY, 0);
+            }
+            case NEGATE, ABS, SQRT -> {
+                code.op1(ALOAD, operandLocals[0], 1);
+                invokeHelper(code, operation.name().toLowerCase(Locale.ROOT), UNARY, 0);
+            }
+            default -> {
+                code.op1(ALOAD, operandLocals[0], 1).op1(ALOAD, operandLocals[1], 1);
+                invokeHelper(code, switch (operation) {
+                    case ADD -> "add";
+                    case SUBTRACT -> "sub";
+                    case MULTIPLY -> "mul";
+                    case DIVIDE -> "divide";
+                    default -> throw new IllegalStateException(operation.getSymbol() + " is not vectorized");
+                }, BINARY, -1);
+            }
+        }
+    }
+
+    private void pushDouble(ClassFileWriter.Code code, double value) {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            code.op(DCONST_0, 2);
+        } else if (value == 1.0) {
+            code.op(DCONST_1, 2);
+        } else {
+            code.op2(LDC2_W, writer.doubleConstant(value), 2);
+        }
+    }
+
+    private void invokeHelper(ClassFileWriter.Code code, String name, String descriptor, int stackDelta) {
+        code.op2(INVOKESTATIC, writer.methodRef(HELPERS, name, descriptor), stackDelta);
+    }
+}
@@ -0,0 +1,188 @@
+package com.graphVisualizer.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Samples an arithmetic expression a vector of {@code x} at a time, with the Vector API.
+ * <p>
+ * The formula is compiled by {@code VectorKernelCompiler} into a kernel, which evaluates it over the lanes of
+ * the preferred species of the processor. The values of {@code x} are accumulated like
+ * {@link CompiledExpression#sample}, one block at a time, and the kernel only uses operations whose vector form
+ * gives exactly the result of the scalar one, so the samples are bit-for-bit those of the scalar expression.
+ * <p>
+ * A vector in which a checked function returned {@code NaN} is evaluated again by the scalar expression, which
+ * throws the error at the sample the tree would have, after filling the samples before it. So are the last
+ * samples, that do not fill a vector, and single evaluations.
+ * <p>
+ * This class is only compiled by the {@code vector} profile, and only used when the {@code jdk.incubator.vector}
+ * module is resolved.
+ *
+ * @see ExpressionCompiler.Backend#VECTOR
+ * @see VectorKernelCompiler
+ */
+final class VectorizedExpression implements CompiledExpression {
+
+    /**
+     * The widest species of the processor, which the kernels are compiled for.
+     */
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * The number of values of {@code x} accumulated at a time, a multiple of the lanes of every species.
+     */
+    private static final int BLOCK = 512;
+
+    /**
+     * The vector loop generated for a formula.
+     */
+    interface Kernel {
+        /**
+         * From the vector at {@code i}, evaluates the formula for the values of {@code xs}, and stores the results
+         * in {@code values} from {@code offset + i}.
+         *
+         * @param xs     the values of {@code x}
+         * @param values the array to fill
+         * @param offset the index in {@code values} of the first value of {@code xs}
+         * @param i      the index in {@code xs} of the first vector evaluated
+         * @param length the number of values of {@code xs}, a multiple of the lanes
+         * @return the index of the first vector in which a checked function returned {@code NaN}, whose results
+         * were not stored, or {@code length}
+         */
+        int sample(double[] xs, double[] values, int offset, int i, int length);
+    }
+
+    /**
+     * The same expression, evaluated one {@code x} at a time.
+     */
+    private final CompiledExpression scalar;
+
+    private final Kernel kernel;
+
+    private VectorizedExpression(CompiledExpression scalar, Kernel kernel) {
+        this.scalar = scalar;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Vectorizes an expression.
+     *
+     * @param root   the simplified expression tree
+     * @param scalar the same expression, used for single evaluations, the last samples and the errors
+     * @return the vectorized expression, or {@code null} if the tree is a leaf, is too large, or uses an operation
+     * that cannot be vectorized
+     */
+    static CompiledExpression of(ExpressionNode root, CompiledExpression scalar) {
+        if (!(root instanceof OperationNode) || root.size() > VectorKernelCompiler.MAX_NODES
+                || !VectorKernelCompiler.isVectorizable(root)) {
+            return null;
+        }
+        try {
+            return new VectorizedExpression(scalar, VectorKernelCompiler.compile(root));
+        } catch (ClassFileWriter.LimitExceededException | ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    @Override
+    public double evaluate(double x) {
+        return scalar.evaluate(x);
+    }
+
+    @Override
+    public void sample(double begin, double step, double[] values) {
+        int vectorized = SPECIES.loopBound(values.length);
+        double[] xs = new double[Math.min(BLOCK, vectorized)];
+        double x = begin;
+        for (int from = 0; from < vectorized; from += BLOCK) {
+            int length = Math.min(BLOCK, vectorized - from);
+            for (int i = 0; i < length; i++) {
+                xs[i] = x;
+                x += step;
+            }
+            int i = 0;
+            while ((i = kernel.sample(xs, values, from, i, length)) < length) {
+                for (int lane = i; lane < i + SPECIES.length(); lane++) {
+                    values[from + lane] = scalar.evaluate(xs[lane]);
+                }
+                i += SPECIES.length();
+            }
+        }
+        for (int i = vectorized; i < values.length; i++) {
+            values[i] = scalar.evaluate(x);
+            x += step;
+        }
+    }
+
+    // The helpers called by the kernels, with the semantics of MathOperation
+
+    static DoubleVector load(double[] xs, int i) {
+        return DoubleVector.fromArray(SPECIES, xs, i);
+    }
+
+    static void store(DoubleVector vector, double[] values, int i) {
+        vector.intoArray(values, i);
+    }
+
+    static DoubleVector broadcast(double value) {
+        return DoubleVector.broadcast(SPECIES, value);
+    }
+
+    static boolean hasNaN(DoubleVector vector) {
+        return vector.test(VectorOperators.IS_NAN).anyTrue();
+    }
+
+    static DoubleVector negate(DoubleVector a) {
+        return a.neg();
+    }
+
+    static DoubleVector add(DoubleVector a, DoubleVector b) {
+        return a.add(b);
+    }
+
+    static DoubleVector sub(DoubleVector a, DoubleVector b) {
+        return a.sub(b);
+    }
+
+    static DoubleVector mul(DoubleVector a, DoubleVector b) {
+        return a.mul(b);
+    }
+
+    static DoubleVector div(DoubleVector a, DoubleVector b) {
+        return a.div(b);
+    }
+
+    static DoubleVector square(DoubleVector a) {
+        return a.mul(a);
+    }
+
+    static DoubleVector abs(DoubleVector a) {
+        return a.abs();
+    }
+
+    static DoubleVector min(DoubleVector a, DoubleVector b) {
+        return a.min(b);
+    }
+
+    static DoubleVector max(DoubleVector a, DoubleVector b) {
+        return a.max(b);
+    }
+
+    /**
+     * Square root with {@code sqrt(0) = 0}, as {@link MathOperation#sqrt(double)}.
+     */
+    static DoubleVector sqrt(DoubleVector a) {
+        return a.sqrt().blend(0.0, a.eq(0.0));
+    }
+
+    /**
+     * Division with the division-by-zero behaviour of {@link MathOperation#divide(double, double)}.
+     */
+    static DoubleVector divide(DoubleVector a, DoubleVector b) {
+        DoubleVector zeros = DoubleVector.zero(SPECIES)
+                .blend(Double.POSITIVE_INFINITY, a.compare(VectorOperators.GT, 0.0))
+                .blend(Double.NEGATIVE_INFINITY, a.compare(VectorOperators.LT, 0.0));
+        return a.div(b).blend(zeros, b.eq(0.0));
+    }
+}